@@ -9,18 +9,38 @@ import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 import static io.restassured.RestAssured.given;
 import static org.springframework.boot.test.context.SpringBootTest.UseMainMethod.ALWAYS;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
-@SpringBootTest(webEnvironment = RANDOM_PORT, useMainMethod = ALWAYS)
+@SpringBootTest(
+    webEnvironment = RANDOM_PORT,
+    useMainMethod = ALWAYS,
+    properties = {
+        "lhvcms.statements.response-header=true",
+        // tests relay outbox changes and purge deleted customers when they need to
+        "lhvcms.customer.outbox.relay-enabled=false",
+        "lhvcms.customer.delete.purge-enabled=false"
+    }
+)
 public abstract class BaseIntegrationTest {
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
 
   @LocalServerPort
   private int port;
 
+  @DynamicPropertySource
+  static void database(DynamicPropertyRegistry registry) {
+    if (EmbeddedPostgresDatabase.isEnabled()) {
+      registry.add("spring.datasource.url", EmbeddedPostgresDatabase::jdbcUrl);
+      registry.add("spring.datasource.username", EmbeddedPostgresDatabase::user);
+      registry.add("spring.datasource.password", () -> "");
+    }
+  }
+
   @BeforeEach
   protected void setUp() {
     RestAssured.port = port;
@@ -0,0 +1,52 @@
+package com.metsmarko.lhvcms;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * PostgreSQL started from bundled binaries for integration tests run with the postgres profile, shared by all test
+ * contexts of the JVM.
+ */
+public final class EmbeddedPostgresDatabase {
+  private static final String PROFILE = "postgres";
+  private static final String USER = "postgres";
+  private static final String DATABASE = "postgres";
+
+  private static EmbeddedPostgres postgres;
+
+  private EmbeddedPostgresDatabase() {
+  }
+
+  public static boolean isEnabled() {
+    return Arrays.stream(System.getProperty("spring.profiles.active", "").split(","))
+        .map(String::trim)
+        .anyMatch(PROFILE::equals);
+  }
+
+  public static synchronized String jdbcUrl() {
+    if (postgres == null) {
+      try {
+        postgres = EmbeddedPostgres.builder().start();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedPostgresDatabase::close));
+    }
+    return postgres.getJdbcUrl(USER, DATABASE);
+  }
+
+  public static String user() {
+    return USER;
+  }
+
+  private static synchronized void close() {
+    try {
+      postgres.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.metsmarko.lhvcms;
+
+import com.metsmarko.lhvcms.customer.model.BatchCustomerItemDto;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@EnabledIfSystemProperty(named = "spring.profiles.active", matches = ".*postgres.*")
+class PostgresProfileTest extends BaseIntegrationTest {
+
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testConnectionTuning() throws SQLException {
+    Properties properties = dataSource.unwrap(HikariDataSource.class).getDataSourceProperties();
+
+    assertEquals("true", properties.getProperty("reWriteBatchedInserts"));
+    assertEquals("512", properties.getProperty("preparedStatementCacheQueries"));
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals("PostgreSQL", connection.getMetaData().getDatabaseProductName());
+      assertEquals(3, connection.unwrap(PGConnection.class).getPrepareThreshold());
+    }
+  }
+
+  @Test
+  void testHibernateBatching() {
+    var properties = entityManagerFactory.getProperties();
+
+    assertEquals("50", properties.get("hibernate.jdbc.batch_size"));
+    assertEquals("true", properties.get("hibernate.order_inserts"));
+    assertEquals("true", properties.get("hibernate.order_updates"));
+  }
+
+  @Test
+  void testCustomerIdDefault() {
+    String idDefault = jdbcTemplate.queryForObject(
+        "SELECT column_default FROM information_schema.columns WHERE table_name = 'customer' AND column_name = 'id'",
+        String.class
+    );
+    UUID id = jdbcTemplate.queryForObject(
+        "INSERT INTO customer (first_name, last_name, email, created_dtime, modified_dtime) "
+            + "VALUES ('first', 'last', 'postgres-default@email.com', now(), now()) RETURNING id",
+        UUID.class
+    );
+
+    assertEquals("gen_random_uuid()", idDefault);
+    assertNotNull(id);
+  }
+
+  @Test
+  void testBatchInsert() {
+    List<BatchCustomerItemDto> items = IntStream.range(0, 100)
+        .mapToObj(i -> new BatchCustomerItemDto(
+            null, new CreateOrUpdateCustomerDto("first", "last", "postgres" + i + "@email.com")
+        ))
+        .toList();
+
+    givenHelper(items)
+        .when()
+        .post("/customers/batch")
+        .then()
+        .statusCode(HttpStatus.OK.value());
+  }
+}
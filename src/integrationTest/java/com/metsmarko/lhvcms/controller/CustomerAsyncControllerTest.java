@@ -0,0 +1,131 @@
+package com.metsmarko.lhvcms.controller;
+
+import com.metsmarko.lhvcms.BaseIntegrationTest;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class CustomerAsyncControllerTest extends BaseIntegrationTest {
+
+  private static final String ASYNC_CUSTOMERS_ENDPOINT = "/async/customers";
+  private static final String ASYNC_CUSTOMERS_ID_ENDPOINT = ASYNC_CUSTOMERS_ENDPOINT + "/{id}";
+  private static final String CUSTOMERS_ID_ENDPOINT = "/customers/{id}";
+  private static final String PROMETHEUS_ENDPOINT = "/actuator/prometheus";
+
+  @Test
+  void testManageCustomers() {
+    CreateOrUpdateCustomerDto createCustomer = new CreateOrUpdateCustomerDto("first", "last", "async1@email.com");
+    CustomerDto customerDto = givenHelper(createCustomer)
+        .when()
+        .post(ASYNC_CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(HttpHeaders.ETAG, "\"0\"")
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    assertNotNull(customerDto.id());
+    assertEquals(createCustomer.email(), customerDto.email());
+
+    // both APIs return the same customer
+    assertEquals(customerDto, getCustomerById(ASYNC_CUSTOMERS_ID_ENDPOINT, customerDto.id()));
+    assertEquals(customerDto, getCustomerById(CUSTOMERS_ID_ENDPOINT, customerDto.id()));
+
+    givenHelper()
+        .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+        .get(ASYNC_CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+    CreateOrUpdateCustomerDto updateCustomer = new CreateOrUpdateCustomerDto("first2", "last2", "async2@email.com");
+    CustomerDto updatedCustomerDto = givenHelper(updateCustomer)
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .when()
+        .put(ASYNC_CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(HttpHeaders.ETAG, "\"1\"")
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    assertEquals(updateCustomer.email(), updatedCustomerDto.email());
+
+    givenHelper()
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .delete(ASYNC_CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+    givenHelper()
+        .delete(ASYNC_CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+
+    givenHelper()
+        .get(ASYNC_CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+  }
+
+  @Test
+  void testUpdateCustomer_DoesNotExist() {
+    ProblemDetail problemDetail = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "async3@email.com"))
+        .when()
+        .put(ASYNC_CUSTOMERS_ID_ENDPOINT, UUID.randomUUID())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value())
+        .extract()
+        .body()
+        .as(ProblemDetail.class);
+    assertEquals("Customer not found", problemDetail.getDetail());
+  }
+
+  @Test
+  void testCreateCustomer_BadInput() {
+    ProblemDetail problemDetail = givenHelper(new CreateOrUpdateCustomerDto("", "lastName", "email@email.com"))
+        .when()
+        .post(ASYNC_CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .extract()
+        .body()
+        .as(ProblemDetail.class);
+    assertEquals("First name must be between 1 and 255 characters", problemDetail.getDetail());
+  }
+
+  @Test
+  void testOperationMetrics() {
+    givenHelper()
+        .get(ASYNC_CUSTOMERS_ID_ENDPOINT, UUID.randomUUID())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+
+    // async and sync handlers of the same name are recorded separately
+    givenHelper()
+        .get(PROMETHEUS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body(containsString(
+            "customer_operation_seconds_count{operation=\"CustomerAsyncController.getCustomerById\",outcome=\"not_found\"}"
+        ));
+  }
+
+  private CustomerDto getCustomerById(String endpoint, UUID id) {
+    return givenHelper()
+        .get(endpoint, id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+  }
+}
@@ -0,0 +1,100 @@
+package com.metsmarko.lhvcms.controller;
+
+import com.metsmarko.lhvcms.BaseIntegrationTest;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import com.metsmarko.lhvcms.customer.model.CustomerChangePageDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.outbox.CustomerOutboxRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerChangeControllerTest extends BaseIntegrationTest {
+
+  private static final String CUSTOMERS_ENDPOINT = "/customers";
+  private static final String CUSTOMERS_ID_ENDPOINT = CUSTOMERS_ENDPOINT + "/{id}";
+  private static final String CUSTOMER_CHANGES_ENDPOINT = CUSTOMERS_ENDPOINT + "/changes";
+
+  @Autowired
+  private CustomerOutboxRelay relay;
+
+  @Test
+  void testGetChanges() {
+    // changes of other tests are published and skipped first
+    relay.relay();
+    long since = latestPosition();
+    CustomerDto customer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "changes1@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    givenHelper(new CreateOrUpdateCustomerDto("first2", "last2", "changes2@email.com"))
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    givenHelper()
+        .delete(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+
+    // changes are visible only after they have been published
+    assertTrue(getChanges(since, 1000).changes().isEmpty());
+    relay.relay();
+
+    CustomerChangePageDto firstPage = getChanges(since, 2);
+    CustomerChangePageDto secondPage = getChanges(firstPage.nextSince(), 2);
+    List<CustomerChangeDto> changes = Stream
+        .concat(firstPage.changes().stream(), secondPage.changes().stream())
+        .toList();
+    assertTrue(changes.stream().allMatch(change -> change.customerId().equals(customer.id())));
+    assertEquals(
+        List.of(CustomerChange.Type.CREATED, CustomerChange.Type.UPDATED, CustomerChange.Type.DELETED),
+        changes.stream().map(CustomerChangeDto::type).toList()
+    );
+    assertEquals("changes1@email.com", changes.get(0).email());
+    assertEquals("changes2@email.com", changes.get(1).email());
+    assertEquals(1L, changes.get(1).version());
+    assertTrue(getChanges(secondPage.nextSince(), 1000).changes().isEmpty());
+  }
+
+  @Test
+  void testGetChanges_BadInput() {
+    givenHelper()
+        .queryParam("since", -1)
+        .get(CUSTOMER_CHANGES_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value());
+  }
+
+  private long latestPosition() {
+    CustomerChangePageDto page = getChanges(0, 1000);
+    while (!page.changes().isEmpty()) {
+      page = getChanges(page.nextSince(), 1000);
+    }
+    return page.nextSince();
+  }
+
+  private CustomerChangePageDto getChanges(long since, int limit) {
+    return givenHelper()
+        .queryParam("since", since)
+        .queryParam("limit", limit)
+        .get(CUSTOMER_CHANGES_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerChangePageDto.class);
+  }
+}
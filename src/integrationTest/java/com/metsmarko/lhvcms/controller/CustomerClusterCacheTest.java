@@ -0,0 +1,116 @@
+package com.metsmarko.lhvcms.controller;
+
+import com.metsmarko.lhvcms.LhvCmsApplication;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static com.metsmarko.lhvcms.BaseIntegrationTest.givenHelper;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two nodes sharing a database, customers are changed on one node and read through the cache of the other.
+ */
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*postgres.*")
+class CustomerClusterCacheTest {
+
+  private static final String CUSTOMERS_ENDPOINT = "/customers";
+  private static final String CUSTOMERS_ID_ENDPOINT = CUSTOMERS_ENDPOINT + "/{id}";
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+  private static final Duration STALENESS_BOUND = Duration.ofSeconds(2);
+  private static final int FRESH_READS = 5;
+
+  private static ConfigurableApplicationContext writerNode;
+  private static ConfigurableApplicationContext readerNode;
+
+  @BeforeAll
+  static void startNodes() {
+    writerNode = startNode();
+    readerNode = startNode();
+  }
+
+  @AfterAll
+  static void stopNodes() {
+    readerNode.close();
+    writerNode.close();
+  }
+
+  @Test
+  void testNoStaleReadsBeyondBound() {
+    CustomerDto customer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "cluster@email.com"))
+        .port(port(writerNode))
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .as(CustomerDto.class);
+    // customer is cached on the reader node
+    assertEquals(customer.version(), getFromReader(customer).as(CustomerDto.class).version());
+
+    givenHelper(new CreateOrUpdateCustomerDto("updated", "last", "cluster@email.com"))
+        .port(port(writerNode))
+        .put(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    assertFreshWithinBound(customer, response -> response.statusCode() == HttpStatus.OK.value()
+        && "updated".equals(response.as(CustomerDto.class).firstName()));
+
+    givenHelper()
+        .port(port(writerNode))
+        .delete(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    assertFreshWithinBound(customer, response -> response.statusCode() == HttpStatus.NOT_FOUND.value());
+  }
+
+  private static void assertFreshWithinBound(CustomerDto customer, Predicate<Response> fresh) {
+    long deadline = System.nanoTime() + STALENESS_BOUND.toNanos();
+    while (!fresh.test(getFromReader(customer))) {
+      assertTrue(System.nanoTime() < deadline, "Reader node served stale customer longer than " + STALENESS_BOUND);
+      sleep(POLL_INTERVAL.dividedBy(4));
+    }
+    for (int i = 0; i < FRESH_READS; i++) {
+      assertTrue(fresh.test(getFromReader(customer)), "Reader node served stale customer after fresh one");
+    }
+  }
+
+  private static Response getFromReader(CustomerDto customer) {
+    return givenHelper()
+        .port(port(readerNode))
+        .get(CUSTOMERS_ID_ENDPOINT, customer.id());
+  }
+
+  private static ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(LhvCmsApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+            "--lhvcms.cluster.enabled=true",
+            "--lhvcms.cluster.poll-interval=" + POLL_INTERVAL.toMillis() + "ms"
+        );
+  }
+
+  private static int port(ConfigurableApplicationContext node) {
+    return Integer.parseInt(node.getEnvironment().getRequiredProperty("local.server.port"));
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -1,15 +1,43 @@
 package com.metsmarko.lhvcms.controller;
 
 import com.metsmarko.lhvcms.BaseIntegrationTest;
+import com.metsmarko.lhvcms.customer.model.BatchCustomerItemDto;
+import com.metsmarko.lhvcms.customer.model.BatchCustomerResultDto;
 import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDeleteResultDto;
 import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerImportResultDto;
+import com.metsmarko.lhvcms.customer.model.CustomerLookupResultDto;
+import com.metsmarko.lhvcms.customer.model.CustomerPageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static com.metsmarko.lhvcms.metrics.StatementBudgetProperties.STATEMENTS_HEADER;
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -17,6 +45,18 @@ class CustomerControllerTest extends BaseIntegrationTest {
 
   private static final String CUSTOMERS_ENDPOINT = "/customers";
   private static final String CUSTOMERS_ID_ENDPOINT = CUSTOMERS_ENDPOINT + "/{id}";
+  private static final String CUSTOMERS_BATCH_ENDPOINT = CUSTOMERS_ENDPOINT + "/batch";
+  private static final String CUSTOMERS_BATCH_DELETE_ENDPOINT = CUSTOMERS_BATCH_ENDPOINT + "/delete";
+  private static final String CUSTOMERS_LOOKUP_ENDPOINT = CUSTOMERS_ENDPOINT + "/lookup";
+  private static final String CUSTOMERS_IMPORT_ENDPOINT = CUSTOMERS_ENDPOINT + "/import";
+  private static final String CUSTOMERS_EXPORT_ENDPOINT = CUSTOMERS_ENDPOINT + "/export";
+  private static final String CUSTOMERS_SEARCH_ENDPOINT = CUSTOMERS_ENDPOINT + "/search";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+  private static final ObjectMapper CBOR_OBJECT_MAPPER = new ObjectMapper(new CBORFactory())
+      .registerModule(new JavaTimeModule());
+  private static final String CBOR_CONTENT_TYPE = "application/cbor";
+  private static final String CACHE_GETS_METRIC_ENDPOINT = "/actuator/metrics/cache.gets";
+  private static final String PROMETHEUS_ENDPOINT = "/actuator/prometheus";
 
   @Test
   void testManageCustomers() {
@@ -146,6 +186,569 @@ class CustomerControllerTest extends BaseIntegrationTest {
     assertEquals("Last name must not be empty", problemDetail.getDetail());
   }
 
+  @Test
+  void testUpsertCustomers() {
+    CustomerDto existingCustomer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "batch1@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    assertEquals(existingCustomer, getCustomerById(existingCustomer.id()));
+    CreateOrUpdateCustomerDto newCustomer = new CreateOrUpdateCustomerDto("first2", "last2", "batch2@email.com");
+    CreateOrUpdateCustomerDto updatedCustomer = new CreateOrUpdateCustomerDto("first11", "last11", "batch11@email.com");
+
+    BatchCustomerResultDto[] results = givenHelper(List.of(
+        new BatchCustomerItemDto(null, newCustomer),
+        new BatchCustomerItemDto(existingCustomer.id(), updatedCustomer),
+        new BatchCustomerItemDto(UUID.randomUUID(), new CreateOrUpdateCustomerDto("first3", "last3", "batch3@email.com")),
+        new BatchCustomerItemDto(null, new CreateOrUpdateCustomerDto("first", "last", "invalid")),
+        new BatchCustomerItemDto(null, new CreateOrUpdateCustomerDto("first4", "last4", existingCustomer.email())),
+        new BatchCustomerItemDto(null, new CreateOrUpdateCustomerDto("first5", "last5", newCustomer.email()))
+    ))
+        .when()
+        .post(CUSTOMERS_BATCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(BatchCustomerResultDto[].class);
+
+    assertEquals(6, results.length);
+    assertEquals(BatchCustomerResultDto.Status.CREATED, results[0].status());
+    assertEquals(newCustomer.email(), results[0].customer().email());
+    assertEquals(results[0].customer().createdDtime(), results[0].customer().modifiedDtime());
+    assertEquals(results[0].customer(), getCustomerById(results[0].customer().id()));
+
+    assertEquals(BatchCustomerResultDto.Status.UPDATED, results[1].status());
+    assertEquals(updatedCustomer.email(), results[1].customer().email());
+    assertEquals(existingCustomer.createdDtime(), results[1].customer().createdDtime());
+    assertTrue(results[1].customer().modifiedDtime().isAfter(existingCustomer.modifiedDtime()));
+    assertEquals(results[1].customer(), getCustomerById(existingCustomer.id()));
+
+    assertEquals(BatchCustomerResultDto.Status.NOT_FOUND, results[2].status());
+    assertEquals(BatchCustomerResultDto.Status.BAD_INPUT, results[3].status());
+    assertEquals("Email must have valid format", results[3].error());
+    assertEquals(BatchCustomerResultDto.Status.CONFLICT, results[4].status());
+    assertEquals("Customer with given email already exists", results[4].error());
+    assertEquals(BatchCustomerResultDto.Status.CONFLICT, results[5].status());
+    assertEquals("Email is already present in batch", results[5].error());
+  }
+
+  @Test
+  void testDeleteCustomers() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      ids.add(givenHelper(new CreateOrUpdateCustomerDto("first", "last", "bulkdelete%d@email.com".formatted(i)))
+          .when()
+          .post(CUSTOMERS_ENDPOINT)
+          .then()
+          .statusCode(HttpStatus.OK.value())
+          .extract()
+          .body()
+          .as(CustomerDto.class)
+          .id());
+    }
+    UUID missingId = UUID.randomUUID();
+
+    // one delete for all customers, database time of the changes and one outbox batch
+    CustomerDeleteResultDto result = givenHelper(List.of(ids.get(2), missingId, ids.get(0), ids.get(2)))
+        .when()
+        .post(CUSTOMERS_BATCH_DELETE_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "3")
+        .extract()
+        .body()
+        .as(CustomerDeleteResultDto.class);
+
+    assertEquals(new CustomerDeleteResultDto(List.of(ids.get(2), ids.get(0)), List.of(missingId)), result);
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, ids.get(0))
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+    getCustomerById(ids.get(1));
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, ids.get(2))
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+  }
+
+  @Test
+  void testLookupCustomers() {
+    CustomerDto customer1 = givenHelper(new CreateOrUpdateCustomerDto("first1", "last1", "lookup1@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    CustomerDto customer2 = givenHelper(new CreateOrUpdateCustomerDto("first2", "last2", "lookup2@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    // update evicts customer2 from cache
+    customer2 = givenHelper(new CreateOrUpdateCustomerDto("first22", "last22", "lookup22@email.com"))
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, customer2.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    UUID missingId = UUID.randomUUID();
+    List<UUID> ids = List.of(customer2.id(), missingId, customer1.id(), customer2.id());
+
+    // customer1 is served from cache, customer2 and missing id are read with one query
+    CustomerLookupResultDto result = givenHelper(ids)
+        .when()
+        .post(CUSTOMERS_LOOKUP_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "1")
+        .extract()
+        .body()
+        .as(CustomerLookupResultDto.class);
+    assertEquals(new CustomerLookupResultDto(List.of(customer2, customer1), List.of(missingId)), result);
+
+    // customer2 was cached by previous lookup
+    givenHelper(ids)
+        .when()
+        .post(CUSTOMERS_LOOKUP_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "1");
+    givenHelper(List.of(customer1.id(), customer2.id()))
+        .when()
+        .post(CUSTOMERS_LOOKUP_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "0");
+
+    ProblemDetail problemDetail = givenHelper(List.of())
+        .when()
+        .post(CUSTOMERS_LOOKUP_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.BAD_REQUEST.value())
+        .extract()
+        .body()
+        .as(ProblemDetail.class);
+    assertEquals("Lookup must contain between 1 and 1000 ids", problemDetail.getDetail());
+  }
+
+  @Test
+  void testImportCustomers() {
+    String customers = """
+        {"firstName": "import1", "lastName": "last1", "email": "import1@email.com"}
+        {"firstName": "", "lastName": "last2", "email": "import2@email.com"}
+        {"firstName": "import3", "lastName": "last3", "email": "import3@email.com"}
+        {"firstName": "import4", "lastName": "last4", "email": "import1@email.com"}
+        """;
+
+    CustomerImportResultDto result = givenHelper()
+        .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+        .accept(ContentType.JSON)
+        .body(customers)
+        .when()
+        .post(CUSTOMERS_IMPORT_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerImportResultDto.class);
+
+    assertEquals(4, result.lines());
+    assertEquals(2, result.imported());
+    assertEquals(2, result.failed());
+    assertEquals(
+        List.of(
+            new CustomerImportResultDto.LineError(2, "First name must be between 1 and 255 characters"),
+            new CustomerImportResultDto.LineError(4, "Customer with given email already exists")
+        ),
+        result.errors()
+    );
+  }
+
+  @Test
+  void testListAndExportCustomers() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      givenHelper(new CreateOrUpdateCustomerDto("list" + i, "last", "list" + i + "@email.com"))
+          .when()
+          .post(CUSTOMERS_ENDPOINT)
+          .then()
+          .statusCode(HttpStatus.OK.value());
+    }
+
+    List<CustomerDto> listed = new ArrayList<>();
+    String cursor = null;
+    do {
+      var request = givenHelper().queryParam("limit", 2);
+      if (cursor != null) {
+        request.queryParam("cursor", cursor);
+      }
+      CustomerPageDto page = request
+          .get(CUSTOMERS_ENDPOINT)
+          .then()
+          .statusCode(HttpStatus.OK.value())
+          .extract()
+          .body()
+          .as(CustomerPageDto.class);
+      assertTrue(page.customers().size() <= 2);
+      listed.addAll(page.customers());
+      cursor = page.nextCursor();
+    } while (cursor != null);
+
+    String exported = givenHelper()
+        .accept(MediaType.APPLICATION_NDJSON_VALUE)
+        .get(CUSTOMERS_EXPORT_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+        .extract()
+        .asString();
+    List<CustomerDto> exportedCustomers = new ArrayList<>();
+    for (String line : exported.split("\n")) {
+      exportedCustomers.add(OBJECT_MAPPER.readValue(line, CustomerDto.class));
+    }
+
+    assertTrue(listed.size() >= 3);
+    assertEquals(listed, exportedCustomers);
+    for (int i = 1; i < listed.size(); i++) {
+      assertFalse(listed.get(i).createdDtime().isBefore(listed.get(i - 1).createdDtime()));
+    }
+    assertTrue(listed.stream().map(CustomerDto::firstName).toList().containsAll(List.of("list0", "list1", "list2")));
+  }
+
+  @Test
+  void testSearchCustomers() {
+    CustomerDto customerDto = givenHelper(new CreateOrUpdateCustomerDto("Search", "Searchable", "search@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+
+    CustomerDto[] byEmail = givenHelper()
+        .queryParam("email", "search@email.com")
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+    CustomerDto[] byName = givenHelper()
+        .queryParam("lastName", "searchA")
+        .queryParam("firstName", "sE")
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+    CustomerDto[] byWildcard = givenHelper()
+        .queryParam("lastName", "%")
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+
+    assertEquals(List.of(customerDto), List.of(byEmail));
+    assertEquals(List.of(customerDto), List.of(byName));
+    assertEquals(0, byWildcard.length);
+  }
+
+  @Test
+  void testSearchCustomers_Order() {
+    CustomerDto second = createCustomer(new CreateOrUpdateCustomerDto("B", "OrderedA", "ordered2@email.com"));
+    CustomerDto third = createCustomer(new CreateOrUpdateCustomerDto("A", "OrderedB", "ordered3@email.com"));
+    CustomerDto first = createCustomer(new CreateOrUpdateCustomerDto("A", "OrderedA", "ordered1@email.com"));
+
+    // ordered by last name, first name and id, limit keeps the first ones
+    CustomerDto[] found = givenHelper()
+        .queryParam("lastName", "Ordered")
+        .queryParam("limit", 2)
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+    CustomerDto[] all = givenHelper()
+        .queryParam("lastName", "Ordered")
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+
+    assertEquals(List.of(first, second), List.of(found));
+    assertEquals(List.of(first, second, third), List.of(all));
+  }
+
+  @Test
+  void testCreateCustomer_DuplicateEmail() {
+    CreateOrUpdateCustomerDto createCustomer = new CreateOrUpdateCustomerDto("first", "last", "duplicate@email.com");
+    givenHelper(createCustomer)
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value());
+
+    givenHelper(createCustomer)
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value());
+  }
+
+  @Test
+  void testConditionalRequests() {
+    String eTag = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "etag@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .header(HttpHeaders.ETAG);
+    UUID id = givenHelper()
+        .queryParam("email", "etag@email.com")
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .extract()
+        .body()
+        .as(CustomerDto[].class)[0]
+        .id();
+
+    givenHelper()
+        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .get(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+    CreateOrUpdateCustomerDto updateCustomer = new CreateOrUpdateCustomerDto("first2", "last2", "etag@email.com");
+    String updatedETag = givenHelper(updateCustomer)
+        .header(HttpHeaders.IF_MATCH, eTag)
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .header(HttpHeaders.ETAG);
+    assertNotEquals(eTag, updatedETag);
+
+    // stale entity tag
+    givenHelper(updateCustomer)
+        .header(HttpHeaders.IF_MATCH, eTag)
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+    givenHelper()
+        .header(HttpHeaders.IF_MATCH, eTag)
+        .when()
+        .delete(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+    givenHelper()
+        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .get(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(HttpHeaders.ETAG, updatedETag);
+
+    givenHelper()
+        .header(HttpHeaders.IF_MATCH, updatedETag)
+        .when()
+        .delete(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+  }
+
+  @Test
+  void testGetCustomer_ServedFromCache() {
+    CreateOrUpdateCustomerDto createCustomer = new CreateOrUpdateCustomerDto("first", "last", "cached@email.com");
+    CustomerDto customerDto = givenHelper(createCustomer)
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    float hitsBefore = getCacheHits();
+
+    assertEquals(customerDto, getCustomerById(customerDto.id()));
+    assertEquals(customerDto, getCustomerById(customerDto.id()));
+
+    assertEquals(hitsBefore + 2, getCacheHits());
+  }
+
+  @Test
+  void testExportCustomers_CompressedOverHttp2() throws Exception {
+    givenHelper(new CreateOrUpdateCustomerDto("first", "last", "compressed@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+    HttpResponse<byte[]> response = httpClient.send(
+        HttpRequest.newBuilder(URI.create("http://localhost:" + RestAssured.port + CUSTOMERS_EXPORT_ENDPOINT))
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .build(),
+        HttpResponse.BodyHandlers.ofByteArray()
+    );
+
+    assertEquals(HttpClient.Version.HTTP_2, response.version());
+    assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+    try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("compressed@email.com"));
+    }
+  }
+
+  @Test
+  void testGetCustomer_Cbor() throws Exception {
+    CustomerDto customerDto = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "cbor@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+
+    byte[] cbor = givenHelper()
+        .accept(CBOR_CONTENT_TYPE)
+        .get(CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .contentType(CBOR_CONTENT_TYPE)
+        .extract()
+        .asByteArray();
+    byte[] json = givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, customerDto.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .contentType(ContentType.JSON)
+        .extract()
+        .asByteArray();
+
+    // instants keep the precision of JSON, UUID is 16 bytes
+    assertEquals(customerDto, CBOR_OBJECT_MAPPER.readValue(cbor, CustomerDto.class));
+    ByteBuffer id = ByteBuffer.allocate(16)
+        .putLong(customerDto.id().getMostSignificantBits())
+        .putLong(customerDto.id().getLeastSignificantBits());
+    assertTrue(new String(cbor, StandardCharsets.ISO_8859_1).contains(new String(id.array(), StandardCharsets.ISO_8859_1)));
+    assertTrue(cbor.length < json.length, cbor.length + " >= " + json.length);
+  }
+
+  private float getCacheHits() {
+    return givenHelper()
+        .queryParam("tag", "name:customers")
+        .queryParam("tag", "result:hit")
+        .get(CACHE_GETS_METRIC_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .path("measurements[0].value");
+  }
+
+  @Test
+  void testOperationMetrics() {
+    String insertOperation = "operation=\"CustomerController.insertCustomer\"";
+    String getOperation = "operation=\"CustomerController.getCustomerById\"";
+    givenHelper(new CreateOrUpdateCustomerDto("first", "last", "metrics@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, UUID.randomUUID())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+
+    givenHelper()
+        .get(PROMETHEUS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body(containsString("customer_operation_seconds_count{" + insertOperation + ",outcome=\"ok\"}"))
+        .body(containsString("customer_operation_seconds_count{" + getOperation + ",outcome=\"not_found\"}"))
+        .body(containsString("customer_operation_phase_seconds_count{" + insertOperation + ",phase=\"validation\"}"))
+        .body(containsString("customer_operation_statements_count{" + insertOperation + "}"))
+        .body(containsString("customer_exceptions_total{exception=\"NotFoundException\",status=\"404\"}"));
+  }
+
+  @Test
+  void testStatementCounts() {
+    // insert writes customer and outbox, and caches the customer
+    CustomerDto customer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "statements@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "2")
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "0");
+
+    // update writes customer and outbox, and evicts the customer from cache
+    givenHelper(new CreateOrUpdateCustomerDto("first2", "last2", "statements2@email.com"))
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "2");
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "1");
+
+    // delete reads the database time for the change and writes customer and outbox
+    givenHelper()
+        .delete(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header(STATEMENTS_HEADER, "3");
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value())
+        .header(STATEMENTS_HEADER, "1");
+  }
+
+  private CustomerDto createCustomer(CreateOrUpdateCustomerDto customer) {
+    return givenHelper(customer)
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+  }
+
   private CustomerDto getCustomerById(UUID id) {
     return givenHelper()
         .get(CUSTOMERS_ID_ENDPOINT, id)
@@ -0,0 +1,110 @@
+package com.metsmarko.lhvcms.controller;
+
+import com.metsmarko.lhvcms.BaseIntegrationTest;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.datasource.ReplicaLagMonitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Replica is a separate H2 database that is never written by the application, so it lags behind primary forever
+ * while its lag check passes.
+ */
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*postgres.*")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:lagging-primary;DB_CLOSE_DELAY=-1",
+    "lhvcms.datasource.replicas.enabled=true",
+    "lhvcms.datasource.replicas.nodes[0].url=" + CustomerLaggingReplicaTest.REPLICA_URL,
+    "lhvcms.datasource.replicas.lag-query=SELECT 0"
+})
+class CustomerLaggingReplicaTest extends BaseIntegrationTest {
+  static final String REPLICA_URL = "jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1";
+
+  private static final String CUSTOMERS_ENDPOINT = "/customers";
+  private static final String CUSTOMERS_ID_ENDPOINT = CUSTOMERS_ENDPOINT + "/{id}";
+  private static final String CUSTOMERS_SEARCH_ENDPOINT = CUSTOMERS_ENDPOINT + "/search";
+  private static final String CREATE_TABLE_SQL = """
+      CREATE TABLE IF NOT EXISTS customer (
+        id UUID PRIMARY KEY, first_name VARCHAR(255), last_name VARCHAR(255), email VARCHAR(255),
+        created_dtime TIMESTAMP WITH TIME ZONE, modified_dtime TIMESTAMP WITH TIME ZONE, version BIGINT,
+        deleted_dtime TIMESTAMP WITH TIME ZONE
+      )""";
+  private static final String INSERT_SQL = "INSERT INTO customer VALUES (?, ?, ?, ?, ?, ?, ?, NULL)";
+
+  @Autowired
+  private ReplicaLagMonitor replicaLagMonitor;
+
+  @Test
+  void testUpdatedCustomerNotCachedFromLaggingReplica() {
+    replicaLagMonitor.checkReplicas();
+    CustomerDto customer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "lagging@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+    copyToReplica(customer);
+    CustomerDto updated = givenHelper(new CreateOrUpdateCustomerDto("first2", "last2", "lagging2@email.com"))
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+
+    // searches without cookie are served by the replica, which still has the old version
+    CustomerDto[] found = givenHelper()
+        .queryParam("email", customer.email())
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+    assertEquals(1, found.length);
+    assertEquals(customer, found[0]);
+
+    // cache miss after eviction reads primary, so the old version is not cached again
+    assertEquals(updated, getCustomerById(customer.id()));
+    assertEquals(updated, getCustomerById(customer.id()));
+  }
+
+  private static void copyToReplica(CustomerDto customer) {
+    JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL));
+    replica.execute(CREATE_TABLE_SQL);
+    replica.update(
+        INSERT_SQL,
+        customer.id(),
+        customer.firstName(),
+        customer.lastName(),
+        customer.email(),
+        customer.createdDtime().atOffset(ZoneOffset.UTC),
+        customer.modifiedDtime().atOffset(ZoneOffset.UTC),
+        customer.version()
+    );
+  }
+
+  private static CustomerDto getCustomerById(UUID id) {
+    return givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+  }
+}
@@ -0,0 +1,108 @@
+package com.metsmarko.lhvcms.controller;
+
+import com.metsmarko.lhvcms.BaseIntegrationTest;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.datasource.PrimaryReadsFilter;
+import com.metsmarko.lhvcms.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Replica is the primary H2 database itself, so routing can be checked without replication.
+ */
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = ".*postgres.*")
+@TestPropertySource(properties = {
+    "spring.cache.type=none",
+    "spring.datasource.url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+    "lhvcms.datasource.replicas.enabled=true",
+    "lhvcms.datasource.replicas.nodes[0].url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+    "lhvcms.datasource.replicas.lag-query=SELECT 0",
+    "lhvcms.datasource.replicas.stickiness=1m"
+})
+class CustomerReplicaRoutingTest extends BaseIntegrationTest {
+
+  private static final String CUSTOMERS_ENDPOINT = "/customers";
+  private static final String CUSTOMERS_ID_ENDPOINT = CUSTOMERS_ENDPOINT + "/{id}";
+  private static final String CUSTOMERS_SEARCH_ENDPOINT = CUSTOMERS_ENDPOINT + "/search";
+  private static final String CUSTOMERS_LOOKUP_ENDPOINT = CUSTOMERS_ENDPOINT + "/lookup";
+
+  @Autowired
+  private ReplicaLagMonitor replicaLagMonitor;
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void testReadsRoutedToReplicaUnlessClientChangedData() {
+    replicaLagMonitor.checkReplicas();
+    Response created = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "replica@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT);
+    created.then().statusCode(HttpStatus.OK.value());
+    CustomerDto customer = created.as(CustomerDto.class);
+    String primaryUntil = created.getCookie(PrimaryReadsFilter.COOKIE);
+    assertNotNull(primaryUntil);
+
+    double replicaConnections = connections("replica");
+    givenHelper()
+        .queryParam("email", customer.email())
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    assertEquals(replicaConnections + 1, connections("replica"));
+
+    givenHelper()
+        .cookie(PrimaryReadsFilter.COOKIE, primaryUntil)
+        .queryParam("email", customer.email())
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    assertEquals(replicaConnections + 1, connections("replica"));
+  }
+
+  @Test
+  void testCustomerByIdReadFromPrimary() {
+    replicaLagMonitor.checkReplicas();
+    CustomerDto customer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "replica-byid@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .as(CustomerDto.class);
+
+    double replicaConnections = connections("replica");
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, customer.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    assertEquals(replicaConnections, connections("replica"));
+  }
+
+  @Test
+  void testLookupDoesNotRouteClientToPrimary() {
+    replicaLagMonitor.checkReplicas();
+    CustomerDto customer = givenHelper(new CreateOrUpdateCustomerDto("first", "last", "replica-lookup@email.com"))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .as(CustomerDto.class);
+
+    Response lookup = givenHelper(List.of(customer.id()))
+        .when()
+        .post(CUSTOMERS_LOOKUP_ENDPOINT);
+    lookup.then().statusCode(HttpStatus.OK.value());
+    assertNull(lookup.getCookie(PrimaryReadsFilter.COOKIE));
+  }
+
+  private double connections(String target) {
+    return meterRegistry.counter("datasource.routing.connections", "target", target).count();
+  }
+}
@@ -0,0 +1,96 @@
+package com.metsmarko.lhvcms.controller;
+
+import com.metsmarko.lhvcms.BaseIntegrationTest;
+import com.metsmarko.lhvcms.customer.CustomerPurger;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDeleteResultDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = {
+    "lhvcms.customer.delete.soft=true",
+    "lhvcms.customer.delete.purge-batch-size=1",
+    "lhvcms.customer.delete.purge-batch-delay=0s"
+})
+class CustomerSoftDeleteTest extends BaseIntegrationTest {
+
+  private static final String CUSTOMERS_ENDPOINT = "/customers";
+  private static final String CUSTOMERS_ID_ENDPOINT = CUSTOMERS_ENDPOINT + "/{id}";
+  private static final String CUSTOMERS_SEARCH_ENDPOINT = CUSTOMERS_ENDPOINT + "/search";
+  private static final String CUSTOMERS_BATCH_DELETE_ENDPOINT = CUSTOMERS_ENDPOINT + "/batch/delete";
+  private static final String COUNT_ROWS_SQL = "SELECT COUNT(*) FROM customer WHERE id IN (?, ?)";
+
+  @Autowired
+  private CustomerPurger purger;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testDeletedCustomersHiddenUntilPurged() {
+    CustomerDto customer1 = createCustomer("softdelete1@email.com");
+    CustomerDto customer2 = createCustomer("softdelete2@email.com");
+
+    givenHelper()
+        .delete(CUSTOMERS_ID_ENDPOINT, customer1.id())
+        .then()
+        .statusCode(HttpStatus.OK.value());
+    CustomerDeleteResultDto result = givenHelper(List.of(customer1.id(), customer2.id()))
+        .when()
+        .post(CUSTOMERS_BATCH_DELETE_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDeleteResultDto.class);
+
+    assertEquals(new CustomerDeleteResultDto(List.of(customer2.id()), List.of(customer1.id())), result);
+    givenHelper()
+        .get(CUSTOMERS_ID_ENDPOINT, customer1.id())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+    givenHelper(new CreateOrUpdateCustomerDto("first", "last", "softdelete22@email.com"))
+        .when()
+        .put(CUSTOMERS_ID_ENDPOINT, customer2.id())
+        .then()
+        .statusCode(HttpStatus.NOT_FOUND.value());
+    CustomerDto[] found = givenHelper()
+        .queryParam("email", customer2.email())
+        .get(CUSTOMERS_SEARCH_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto[].class);
+    assertEquals(0, found.length);
+    assertEquals(2, countRows(customer1.id(), customer2.id()));
+
+    // batch size 1 purges customers one per batch
+    assertTrue(purger.purge() >= 2);
+    assertEquals(0, countRows(customer1.id(), customer2.id()));
+  }
+
+  private CustomerDto createCustomer(String email) {
+    return givenHelper(new CreateOrUpdateCustomerDto("first", "last", email))
+        .when()
+        .post(CUSTOMERS_ENDPOINT)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .extract()
+        .body()
+        .as(CustomerDto.class);
+  }
+
+  private int countRows(UUID id1, UUID id2) {
+    return jdbcTemplate.queryForObject(COUNT_ROWS_SQL, Integer.class, id1, id2);
+  }
+}
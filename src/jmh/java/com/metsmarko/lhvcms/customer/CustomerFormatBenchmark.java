@@ -0,0 +1,104 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.metsmarko.lhvcms.config.CborConfig;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerPageDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialization time of JSON and CBOR responses, encoded sizes are reported as secondary results of each benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerFormatBenchmark {
+  @Param({"json", "cbor"})
+  private String format;
+
+  private CustomerDto customer;
+  private CustomerPageDto page;
+  private ObjectWriter customerWriter;
+  private ObjectWriter pageWriter;
+  private ObjectReader customerReader;
+  private byte[] encodedCustomer;
+
+  @Setup
+  public void setUp() throws IOException {
+    Instant now = Instant.now();
+    customer = new CustomerDto(UUID.randomUUID(), "first", "last", "first.last@email.com", now, now, 3);
+    page = new CustomerPageDto(
+        IntStream.range(0, 100)
+            .mapToObj(i -> new CustomerDto(
+                UUID.randomUUID(), "first" + i, "last" + i, "first.last" + i + "@email.com", now, now, i
+            ))
+            .toList(),
+        "cursor"
+    );
+    // same configuration as the object mappers of the application
+    ObjectMapper objectMapper = "cbor".equals(format)
+        ? CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json())
+        : Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    customerWriter = objectMapper.writerFor(CustomerDto.class);
+    pageWriter = objectMapper.writerFor(CustomerPageDto.class);
+    customerReader = objectMapper.readerFor(CustomerDto.class);
+    encodedCustomer = customerWriter.writeValueAsBytes(customer);
+  }
+
+  @Benchmark
+  public byte[] writeCustomer(EncodedSize size) throws IOException {
+    return customerWriter.writeValueAsBytes(customer);
+  }
+
+  @Benchmark
+  public byte[] writePage(EncodedSize size) throws IOException {
+    return pageWriter.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public CustomerDto readCustomer(EncodedSize size) throws IOException {
+    return customerReader.readValue(encodedCustomer);
+  }
+
+  /**
+   * Encoded sizes in bytes of a customer and a page of 100 customers, set on every iteration as events are reported
+   * per iteration.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class EncodedSize {
+    public long customerBytes;
+    public long pageBytes;
+
+    @Setup(Level.Iteration)
+    public void setUp(CustomerFormatBenchmark benchmark) throws IOException {
+      customerBytes = benchmark.encodedCustomer.length;
+      pageBytes = benchmark.pageWriter.writeValueAsBytes(benchmark.page).length;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.LhvCmsApplication;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rows per second of batch inserts into a customer table already holding millions of rows, with random and time-ordered ids.
+ * Every measured batch grows the table further, so compare strategies at the same preloaded size.
+ * <p>
+ * On the default in-memory H2 the whole table stays in the heap, so the results show index maintenance costs only and
+ * not page cache effects. Profile {@code postgres} runs against a PostgreSQL database, where the preloaded table and its
+ * indexes should exceed shared_buffers to show random ids evicting index pages. The customer table is emptied on
+ * setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CustomerIdBenchmark {
+  private static final int PRELOAD_CHUNK_SIZE = 10_000;
+  private static final int BATCH_SIZE = 1000;
+  private static final String TRUNCATE_SQL = "TRUNCATE TABLE customer";
+  private static final String COUNT_SQL = "SELECT COUNT(*) FROM customer";
+
+  @Param({"random", "time-ordered"})
+  private String idStrategy;
+
+  @Param({"2000000"})
+  private int preloadedRows;
+
+  @Param({"default"})
+  private String profile;
+
+  private final AtomicLong emailCounter = new AtomicLong();
+  private ConfigurableApplicationContext context;
+  private CustomerRepository repository;
+  private TransactionTemplate transactionTemplate;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(LhvCmsApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(
+            "--spring.profiles.active=" + profile,
+            "--lhvcms.customer.id.strategy=" + idStrategy,
+            "--logging.level.root=warn"
+        );
+    repository = context.getBean(CustomerRepository.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    // PostgreSQL keeps rows of previous runs, truncate is transactional there and connections do not auto-commit
+    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(TRUNCATE_SQL));
+    Long rows = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(COUNT_SQL, Long.class));
+    if (rows == null || rows != 0) {
+      throw new IllegalStateException("Customer table was not emptied, it has " + rows + " rows");
+    }
+    for (int i = 0; i < preloadedRows; i += PRELOAD_CHUNK_SIZE) {
+      insertBatch(Math.min(PRELOAD_CHUNK_SIZE, preloadedRows - i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<CustomerEntity> insertBatch() {
+    return insertBatch(BATCH_SIZE);
+  }
+
+  private List<CustomerEntity> insertBatch(int size) {
+    List<CreateOrUpdateCustomerDto> customers = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      customers.add(new CreateOrUpdateCustomerDto(
+          "first", "last", "id" + emailCounter.incrementAndGet() + "@email.com"
+      ));
+    }
+    return transactionTemplate.execute(status -> repository.insertAll(customers));
+  }
+}
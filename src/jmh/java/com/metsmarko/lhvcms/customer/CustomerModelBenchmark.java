@@ -0,0 +1,110 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerModelBenchmark {
+  private CustomerEntity entity;
+  private CustomerDto customer;
+  private CreateOrUpdateCustomerDto validCustomer;
+  private CreateOrUpdateCustomerDto invalidCustomer;
+  private ValidatorFactory validatorFactory;
+  private Validator jakartaValidator;
+  private CustomerValidator validator;
+  private ObjectMapper objectMapper;
+
+  @Setup
+  public void setUp() {
+    Instant now = Instant.now();
+    entity = new CustomerEntity(UUID.randomUUID(), "first", "last", "first.last@email.com", now, now, 0);
+    customer = entity.toDto();
+    validCustomer = new CreateOrUpdateCustomerDto("first", "last", "first.last@email.com");
+    invalidCustomer = new CreateOrUpdateCustomerDto("first", "last", "first.last@email..com");
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    jakartaValidator = validatorFactory.getValidator();
+    validator = new CustomerValidator(jakartaValidator);
+    // same configuration as the object mapper of the application
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public CustomerDto toDto() {
+    return entity.toDto();
+  }
+
+  @Benchmark
+  public CreateOrUpdateCustomerDto validate() throws BadInputException {
+    validator.validate(validCustomer);
+    return validCustomer;
+  }
+
+  @Benchmark
+  public String validateInvalid() {
+    try {
+      validator.validate(invalidCustomer);
+      throw new IllegalStateException("Customer must be invalid");
+    } catch (BadInputException e) {
+      return e.getMessage();
+    }
+  }
+
+  /**
+   * Baseline of {@link #validate()}, full validator pass over the constraint annotations.
+   */
+  @Benchmark
+  public Set<ConstraintViolation<CreateOrUpdateCustomerDto>> jakartaValidate() {
+    return jakartaValidator.validate(validCustomer);
+  }
+
+  /**
+   * Baseline of {@link #validateInvalid()}.
+   */
+  @Benchmark
+  public Set<ConstraintViolation<CreateOrUpdateCustomerDto>> jakartaValidateInvalid() {
+    return jakartaValidator.validate(invalidCustomer);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(customer);
+  }
+}
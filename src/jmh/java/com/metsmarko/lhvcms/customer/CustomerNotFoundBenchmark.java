@@ -0,0 +1,65 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.LhvCmsApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 404-heavy traffic: reads of unknown customers through the full web stack. Compare against results of a build
+ * before a change to see its effect on the error path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerNotFoundBenchmark {
+  @Param({"/customers/", "/async/customers/"})
+  private String api;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient httpClient;
+  private HttpRequest getRequest;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(LhvCmsApplication.class)
+        .run("--server.port=0", "--logging.level.root=warn");
+    String port = context.getEnvironment().getRequiredProperty("local.server.port");
+    httpClient = HttpClient.newHttpClient();
+    getRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + api + UUID.randomUUID()))
+        .GET()
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int getUnknown() throws IOException, InterruptedException {
+    return httpClient.send(getRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
@@ -0,0 +1,78 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.LhvCmsApplication;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer service backed by embedded H2 without web layer. Cache is disabled, so reads measure the database path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerServiceBenchmark {
+  private static final CreateOrUpdateCustomerDto UPDATED_CUSTOMER = new CreateOrUpdateCustomerDto(
+      "updated", "customer", "benchmark@email.com"
+  );
+
+  private final AtomicLong insertCounter = new AtomicLong();
+  private ConfigurableApplicationContext context;
+  private CustomerService service;
+  private UUID customerId;
+
+  @Setup
+  public void setUp() throws BadInputException {
+    context = new SpringApplicationBuilder(LhvCmsApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.cache.type=none", "--logging.level.root=warn");
+    service = context.getBean(CustomerService.class);
+    customerId = service
+        .insertCustomer(new CreateOrUpdateCustomerDto("first", "last", "benchmark@email.com"))
+        .id();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public CustomerDto insert() throws BadInputException {
+    return service.insertCustomer(new CreateOrUpdateCustomerDto(
+        "first", "last", "insert" + insertCounter.incrementAndGet() + "@email.com"
+    ));
+  }
+
+  @Benchmark
+  public Optional<CustomerDto> get() {
+    return service.getCustomerById(customerId);
+  }
+
+  @Benchmark
+  public Optional<CustomerDto> update() throws BadInputException {
+    return service.updateCustomer(customerId, null, UPDATED_CUSTOMER);
+  }
+}
@@ -0,0 +1,86 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.LhvCmsApplication;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Burst of concurrent reads through the blocking and async APIs with platform and virtual request threads. Virtual
+ * threads are used only on Java 21 or newer, so run with {@code -PjavaVersion=21} to compare the modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerThreadingBenchmark {
+  @Param({"false", "true"})
+  private boolean virtualThreads;
+
+  @Param({"/customers/", "/async/customers/"})
+  private String api;
+
+  @Param({"1000"})
+  private int concurrentRequests;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient httpClient;
+  private HttpRequest getRequest;
+
+  @Setup
+  public void setUp() throws BadInputException {
+    context = new SpringApplicationBuilder(LhvCmsApplication.class)
+        .run(
+            "--server.port=0",
+            "--spring.cache.type=none",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--logging.level.root=warn"
+        );
+    String customerId = context.getBean(CustomerService.class)
+        .insertCustomer(new CreateOrUpdateCustomerDto("first", "last", "threading@email.com"))
+        .id()
+        .toString();
+    String port = context.getEnvironment().getRequiredProperty("local.server.port");
+    httpClient = HttpClient.newHttpClient();
+    getRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + api + customerId))
+        .GET()
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int concurrentGets() {
+    CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrentRequests];
+    for (int i = 0; i < concurrentRequests; i++) {
+      responses[i] = httpClient.sendAsync(getRequest, HttpResponse.BodyHandlers.discarding());
+    }
+    CompletableFuture.allOf(responses).join();
+    return responses.length;
+  }
+}
@@ -0,0 +1,134 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.LhvCmsApplication;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of large listings and exports with and without compression over HTTP/1.1 and HTTP/2. Bytes on the wire of
+ * a response are reported as secondary result of each benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerTransferBenchmark {
+  private static final int SEED_CHUNK_SIZE = 1000;
+
+  @Param({"false", "true"})
+  private boolean compression;
+
+  @Param({"HTTP_1_1", "HTTP_2"})
+  private HttpClient.Version protocol;
+
+  @Param({"20000"})
+  private int customers;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient httpClient;
+  private HttpRequest exportRequest;
+  private HttpRequest listRequest;
+
+  @Setup
+  public void setUp() throws IOException, InterruptedException {
+    context = new SpringApplicationBuilder(LhvCmsApplication.class)
+        .run(
+            "--server.port=0",
+            "--server.compression.enabled=" + compression,
+            "--logging.level.root=warn"
+        );
+    seed(context.getBean(CustomerRepository.class), context.getBean(TransactionTemplate.class));
+    String baseUri = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+    httpClient = HttpClient.newBuilder().version(protocol).build();
+    exportRequest = request(baseUri + "/customers/export");
+    listRequest = request(baseUri + "/customers?limit=1000");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public long export(WireBytes wireBytes) throws IOException, InterruptedException {
+    wireBytes.responseBytes = send(exportRequest);
+    return wireBytes.responseBytes;
+  }
+
+  @Benchmark
+  public long listPage(WireBytes wireBytes) throws IOException, InterruptedException {
+    wireBytes.responseBytes = send(listRequest);
+    return wireBytes.responseBytes;
+  }
+
+  private long send(HttpRequest request) throws IOException, InterruptedException {
+    HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    if (response.statusCode() != 200 || response.version() != protocol) {
+      throw new IllegalStateException("Unexpected response " + response.statusCode() + " over " + response.version());
+    }
+    // body is not decompressed by the client, so bytes read are the bytes sent
+    try (InputStream body = response.body()) {
+      return body.transferTo(OutputStream.nullOutputStream());
+    }
+  }
+
+  private void seed(CustomerRepository repository, TransactionTemplate transactionTemplate) {
+    for (int i = 0; i < customers; i += SEED_CHUNK_SIZE) {
+      List<CreateOrUpdateCustomerDto> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+      for (int j = i; j < Math.min(i + SEED_CHUNK_SIZE, customers); j++) {
+        chunk.add(new CreateOrUpdateCustomerDto("first" + j, "last" + j, "transfer" + j + "@email.com"));
+      }
+      transactionTemplate.executeWithoutResult(status -> repository.insertAll(chunk));
+    }
+  }
+
+  private static HttpRequest request(String uri) {
+    return HttpRequest.newBuilder(URI.create(uri))
+        .header("Accept-Encoding", "gzip")
+        .GET()
+        .build();
+  }
+
+  /**
+   * Bytes on the wire of the last response, events are reported per iteration instead of summed over operations.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WireBytes {
+    public long responseBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      responseBytes = 0;
+    }
+  }
+}
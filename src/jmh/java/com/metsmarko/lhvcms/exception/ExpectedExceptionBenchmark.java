@@ -0,0 +1,73 @@
+package com.metsmarko.lhvcms.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serial;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throwing expected-outcome exceptions through a request-deep stack. Exception with stack trace is the state before
+ * exceptions were made stackless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpectedExceptionBenchmark {
+  private static final NotFoundException PREALLOCATED = new NotFoundException("Customer not found");
+
+  @Param({"150"})
+  private int stackDepth;
+
+  @Benchmark
+  public String withStackTrace() {
+    return throwAndCatch(stackDepth, () -> new StackTraceException("Customer not found"));
+  }
+
+  @Benchmark
+  public String stackless() {
+    return throwAndCatch(stackDepth, () -> new NotFoundException("Customer not found"));
+  }
+
+  @Benchmark
+  public String preallocated() {
+    return throwAndCatch(stackDepth, () -> PREALLOCATED);
+  }
+
+  private static String throwAndCatch(int depth, Supplier<RuntimeException> exception) {
+    try {
+      throwAt(depth, exception);
+      return null;
+    } catch (RuntimeException e) {
+      return e.getMessage();
+    }
+  }
+
+  private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+    if (depth == 0) {
+      throw exception.get();
+    }
+    throwAt(depth - 1, exception);
+  }
+
+  private static final class StackTraceException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    StackTraceException(String message) {
+      super(message);
+    }
+  }
+}
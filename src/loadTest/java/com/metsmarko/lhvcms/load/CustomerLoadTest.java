@@ -0,0 +1,160 @@
+package com.metsmarko.lhvcms.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.UseMainMethod.ALWAYS;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Sends requests at a fixed rate regardless of how fast earlier requests complete, so the application is tested
+ * with the target load and latencies include time spent waiting for a free client.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, useMainMethod = ALWAYS)
+class CustomerLoadTest {
+  private static final Logger log = LoggerFactory.getLogger(CustomerLoadTest.class);
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .enable(SerializationFeature.INDENT_OUTPUT);
+  private static final String CUSTOMERS_ENDPOINT = "/customers";
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private final AtomicLong emailCounter = new AtomicLong();
+  private final IdPool ids = new IdPool();
+
+  @LocalServerPort
+  private int port;
+
+  @Test
+  void testCustomerLoad() throws Exception {
+    LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    for (int i = 0; i < settings.seedCustomers(); i++) {
+      create();
+    }
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    settings.mix().keySet().forEach(op -> stats.put(op, new OperationStats((int) settings.plannedRequests())));
+
+    ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+    Random random = new Random();
+    long start = System.nanoTime();
+    for (long i = 0; i < settings.plannedRequests(); i++) {
+      long intendedStart = start + i * intervalNanos;
+      long waitNanos = intendedStart - System.nanoTime();
+      if (waitNanos > 0) {
+        LockSupport.parkNanos(waitNanos);
+      }
+      Operation operation = settings.pickOperation(random.nextInt(settings.totalWeight()));
+      clients.execute(() -> execute(operation, intendedStart, stats.get(operation)));
+    }
+    clients.shutdown();
+    assertTrue(clients.awaitTermination(1, TimeUnit.MINUTES), "Requests did not complete in time");
+    LoadTestReport report = LoadTestReport.of(settings, System.nanoTime() - start, stats);
+
+    Path reportFile = Path.of(settings.reportFile());
+    Files.createDirectories(reportFile.toAbsolutePath().getParent());
+    OBJECT_MAPPER.writeValue(reportFile.toFile(), report);
+    log.info("Load test report written to {}:\n{}", reportFile, OBJECT_MAPPER.writeValueAsString(report));
+    assertTrue(
+        report.errorRate() <= settings.maxErrorRate(),
+        "Error rate %f exceeds %f".formatted(report.errorRate(), settings.maxErrorRate())
+    );
+  }
+
+  private void execute(Operation operation, long intendedStart, OperationStats operationStats) {
+    int status;
+    try {
+      status = switch (operation) {
+        case CREATE -> create();
+        case GET -> get();
+        case UPDATE -> update();
+        case DELETE -> delete();
+      };
+    } catch (IOException e) {
+      status = -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      status = -1;
+    }
+    operationStats.record(System.nanoTime() - intendedStart, status);
+  }
+
+  private int create() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri(CUSTOMERS_ENDPOINT))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(newCustomerJson()))
+    );
+    if (response.statusCode() == 200) {
+      ids.add(OBJECT_MAPPER.readValue(response.body(), CustomerDto.class).id());
+    }
+    return response.statusCode();
+  }
+
+  private int get() throws IOException, InterruptedException {
+    UUID id = ids.random();
+    if (id == null) {
+      return -1;
+    }
+    return send(HttpRequest.newBuilder(uri(CUSTOMERS_ENDPOINT + "/" + id)).GET()).statusCode();
+  }
+
+  private int update() throws IOException, InterruptedException {
+    UUID id = ids.random();
+    if (id == null) {
+      return -1;
+    }
+    return send(HttpRequest.newBuilder(uri(CUSTOMERS_ENDPOINT + "/" + id))
+        .header("Content-Type", "application/json")
+        .PUT(HttpRequest.BodyPublishers.ofString(newCustomerJson()))
+    ).statusCode();
+  }
+
+  private int delete() throws IOException, InterruptedException {
+    UUID id = ids.removeRandom();
+    if (id == null) {
+      return -1;
+    }
+    return send(HttpRequest.newBuilder(uri(CUSTOMERS_ENDPOINT + "/" + id)).DELETE()).statusCode();
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+    return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private String newCustomerJson() throws IOException {
+    long number = emailCounter.incrementAndGet();
+    return OBJECT_MAPPER.writeValueAsString(
+        new CreateOrUpdateCustomerDto("first" + number, "last" + number, "load" + number + "@email.com")
+    );
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+}
@@ -0,0 +1,32 @@
+package com.metsmarko.lhvcms.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of customers created during the load test, that get, update and delete operations pick from.
+ */
+final class IdPool {
+  private final List<UUID> ids = new ArrayList<>();
+
+  synchronized void add(UUID id) {
+    ids.add(id);
+  }
+
+  synchronized UUID random() {
+    return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+
+  synchronized UUID removeRandom() {
+    if (ids.isEmpty()) {
+      return null;
+    }
+    int index = ThreadLocalRandom.current().nextInt(ids.size());
+    UUID id = ids.get(index);
+    ids.set(index, ids.get(ids.size() - 1));
+    ids.remove(ids.size() - 1);
+    return id;
+  }
+}
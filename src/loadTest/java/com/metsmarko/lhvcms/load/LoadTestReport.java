@@ -0,0 +1,41 @@
+package com.metsmarko.lhvcms.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+record LoadTestReport(
+    int targetRps,
+    int clients,
+    Map<String, Integer> mix,
+    double durationSeconds,
+    long requests,
+    long errors,
+    double throughputRps,
+    Map<String, OperationStats.Report> operations
+) {
+
+  static LoadTestReport of(LoadTestSettings settings, long elapsedNanos, Map<Operation, OperationStats> stats) {
+    Map<String, Integer> mix = new LinkedHashMap<>();
+    settings.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+    Map<String, OperationStats.Report> operations = new LinkedHashMap<>();
+    stats.forEach((operation, operationStats) -> operations.put(operation.key(), operationStats.report()));
+    long requests = operations.values().stream().mapToLong(OperationStats.Report::count).sum();
+    long errors = operations.values().stream().mapToLong(OperationStats.Report::errors).sum();
+    double durationSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    return new LoadTestReport(
+        settings.rps(),
+        settings.clients(),
+        mix,
+        durationSeconds,
+        requests,
+        errors,
+        requests / durationSeconds,
+        operations
+    );
+  }
+
+  double errorRate() {
+    return requests == 0 ? 0 : errors / (double) requests;
+  }
+}
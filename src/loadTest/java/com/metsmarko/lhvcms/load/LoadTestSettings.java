@@ -0,0 +1,61 @@
+package com.metsmarko.lhvcms.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings are read from load.* system properties, which the loadTest Gradle task passes on from project properties.
+ */
+record LoadTestSettings(
+    int rps,
+    long durationSeconds,
+    int clients,
+    int seedCustomers,
+    Map<Operation, Integer> mix,
+    double maxErrorRate,
+    String reportFile
+) {
+
+  static LoadTestSettings fromSystemProperties() {
+    return new LoadTestSettings(
+        Integer.getInteger("load.rps", 200),
+        Long.getLong("load.durationSeconds", 30),
+        Integer.getInteger("load.clients", 64),
+        Integer.getInteger("load.seedCustomers", 1000),
+        parseMix(System.getProperty("load.mix", "create:10,get:70,update:15,delete:5")),
+        Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01")),
+        System.getProperty("load.reportFile", "build/reports/load-test/report.json")
+    );
+  }
+
+  long plannedRequests() {
+    return rps * durationSeconds;
+  }
+
+  /**
+   * Picks operation by its weight in the mix, value must be between 0 and sum of weights.
+   */
+  Operation pickOperation(int value) {
+    int cumulativeWeight = 0;
+    for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+      cumulativeWeight += entry.getValue();
+      if (value < cumulativeWeight) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalArgumentException("Value is larger than total weight of operations: " + value);
+  }
+
+  int totalWeight() {
+    return mix.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String operationWeight : mix.split(",")) {
+      String[] parts = operationWeight.split(":");
+      weights.put(Operation.parse(parts[0]), Integer.parseInt(parts[1].trim()));
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,18 @@
+package com.metsmarko.lhvcms.load;
+
+import java.util.Locale;
+
+enum Operation {
+  CREATE,
+  GET,
+  UPDATE,
+  DELETE;
+
+  static Operation parse(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+
+  String key() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
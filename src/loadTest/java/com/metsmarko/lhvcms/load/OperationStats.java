@@ -0,0 +1,72 @@
+package com.metsmarko.lhvcms.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of a single operation, measured from the intended start of requests so that queueing behind slow
+ * requests is included.
+ */
+final class OperationStats {
+  private static final int NOT_FOUND = 404;
+
+  private final long[] latencies;
+  private final AtomicInteger count = new AtomicInteger();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder notFound = new LongAdder();
+
+  OperationStats(int maxRequests) {
+    this.latencies = new long[maxRequests];
+  }
+
+  /**
+   * Negative status marks request that failed without response.
+   */
+  void record(long latencyNanos, int status) {
+    int index = count.getAndIncrement();
+    if (index < latencies.length) {
+      latencies[index] = latencyNanos;
+    }
+    if (status == NOT_FOUND) {
+      notFound.increment();
+    } else if (status < 200 || status >= 300) {
+      errors.increment();
+    }
+  }
+
+  Report report() {
+    int recorded = Math.min(count.get(), latencies.length);
+    long[] sorted = Arrays.copyOf(latencies, recorded);
+    Arrays.sort(sorted);
+    return new Report(
+        count.get(),
+        errors.sum(),
+        notFound.sum(),
+        percentileMillis(sorted, 0.50),
+        percentileMillis(sorted, 0.95),
+        percentileMillis(sorted, 0.99),
+        percentileMillis(sorted, 1.0)
+    );
+  }
+
+  private static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  record Report(
+      long count,
+      long errors,
+      long notFound,
+      double p50Ms,
+      double p95Ms,
+      double p99Ms,
+      double maxMs
+  ) {
+  }
+}
@@ -0,0 +1,20 @@
+package com.metsmarko.lhvcms.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Other nodes see invalidations within about {@code pollInterval}. Invalidations committed later than
+ * {@code lookback} after their timestamp are missed, so lookback must exceed the longest transaction changing
+ * customers.
+ */
+@ConfigurationProperties("lhvcms.cluster")
+public record ClusterProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("200ms") Duration pollInterval,
+    @DefaultValue("5s") Duration lookback,
+    @DefaultValue("1m") Duration retention
+) {
+}
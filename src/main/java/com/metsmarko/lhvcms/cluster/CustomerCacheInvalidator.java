@@ -0,0 +1,59 @@
+package com.metsmarko.lhvcms.cluster;
+
+import com.metsmarko.lhvcms.customer.CustomerCache;
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps customer caches of cluster nodes consistent: updates and deletes are broadcast to other nodes in the
+ * transaction that changes the customers, and other nodes evict the customers from their caches once it commits.
+ * Created customers are not cached anywhere else yet.
+ */
+@Component
+@ConditionalOnProperty(name = "lhvcms.cluster.enabled", havingValue = "true")
+public class CustomerCacheInvalidator {
+  private final CustomerInvalidationTransport transport;
+  private final CustomerCache cache;
+  private final Counter sentCounter;
+  private final Counter receivedCounter;
+
+  @Autowired
+  public CustomerCacheInvalidator(
+      CustomerInvalidationTransport transport,
+      CustomerCache cache,
+      MeterRegistry meterRegistry
+  ) {
+    this.transport = Objects.requireNonNull(transport);
+    this.cache = Objects.requireNonNull(cache);
+    this.sentCounter = meterRegistry.counter("customer.cache.invalidations", "direction", "sent");
+    this.receivedCounter = meterRegistry.counter("customer.cache.invalidations", "direction", "received");
+    transport.subscribe(this::evict);
+  }
+
+  @EventListener
+  public void onCustomersChanged(CustomersChangedEvent event) {
+    List<UUID> customerIds = event.changes().stream()
+        .filter(change -> change.type() != CustomerChange.Type.CREATED)
+        .map(CustomerChange::customerId)
+        .distinct()
+        .toList();
+    transport.broadcast(customerIds);
+    sentCounter.increment(customerIds.size());
+  }
+
+  private void evict(Collection<UUID> customerIds) {
+    cache.evict(customerIds);
+    receivedCounter.increment(customerIds.size());
+  }
+}
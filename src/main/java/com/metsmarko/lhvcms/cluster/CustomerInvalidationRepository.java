@@ -0,0 +1,63 @@
+package com.metsmarko.lhvcms.cluster;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Repository
+public class CustomerInvalidationRepository {
+  private static final String INSERT_SQL = "INSERT INTO customer_invalidation (customer_id, node_id, created_dtime) VALUES (?, ?, CURRENT_TIMESTAMP)";
+  private static final String SELECT_SQL = "SELECT id, customer_id, node_id, created_dtime FROM customer_invalidation WHERE created_dtime > ?";
+  private static final String DELETE_SQL = "DELETE FROM customer_invalidation WHERE created_dtime < ?";
+  private static final String CURRENT_TIMESTAMP_SQL = "SELECT CURRENT_TIMESTAMP";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public CustomerInvalidationRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+  }
+
+  public void insertAll(Collection<UUID> customerIds, String nodeId) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, customerIds, customerIds.size(), (ps, customerId) -> {
+      ps.setObject(1, customerId);
+      ps.setString(2, nodeId);
+    });
+  }
+
+  public List<Invalidation> findCreatedAfter(Instant after) {
+    return jdbcTemplate.query(
+        SELECT_SQL,
+        (rs, rowNum) -> new Invalidation(
+            rs.getLong("id"),
+            rs.getObject("customer_id", UUID.class),
+            rs.getString("node_id"),
+            rs.getObject("created_dtime", OffsetDateTime.class).toInstant()
+        ),
+        toOffsetDateTime(after)
+    );
+  }
+
+  public int deleteCreatedBefore(Instant before) {
+    return jdbcTemplate.update(DELETE_SQL, toOffsetDateTime(before));
+  }
+
+  public Instant currentTimestamp() {
+    return Objects.requireNonNull(jdbcTemplate.queryForObject(CURRENT_TIMESTAMP_SQL, OffsetDateTime.class)).toInstant();
+  }
+
+  private static OffsetDateTime toOffsetDateTime(Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  public record Invalidation(long id, UUID customerId, String nodeId, Instant createdDtime) {
+  }
+}
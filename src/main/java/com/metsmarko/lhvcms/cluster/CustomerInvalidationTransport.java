@@ -0,0 +1,22 @@
+package com.metsmarko.lhvcms.cluster;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Delivers ids of changed customers to other nodes of the cluster.
+ */
+public interface CustomerInvalidationTransport {
+
+  /**
+   * Joins the current transaction, so ids are delivered only if the change commits and a failed broadcast rolls the
+   * change back.
+   */
+  void broadcast(Collection<UUID> customerIds);
+
+  /**
+   * Listener gets ids broadcast by other nodes.
+   */
+  void subscribe(Consumer<Collection<UUID>> listener);
+}
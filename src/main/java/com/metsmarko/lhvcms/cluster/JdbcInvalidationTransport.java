@@ -0,0 +1,142 @@
+package com.metsmarko.lhvcms.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts invalidations through the shared database: nodes write invalidations to customer_invalidation in the
+ * changing transaction and poll invalidations of other nodes. Polls overlap by lookback, so invalidations committed
+ * out of order are not missed. Timestamps come from the database, so clocks of the nodes do not need to agree.
+ */
+@Component
+@ConditionalOnProperty(name = "lhvcms.cluster.enabled", havingValue = "true")
+public class JdbcInvalidationTransport implements CustomerInvalidationTransport, SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationTransport.class);
+
+  private final CustomerInvalidationRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ClusterProperties properties;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final List<Consumer<Collection<UUID>>> listeners = new CopyOnWriteArrayList<>();
+  // ids of invalidations already delivered, kept for lookback
+  private final Map<Long, Instant> delivered = new HashMap<>();
+  private Instant latest;
+  private Instant lastPurge;
+  private ScheduledExecutorService executor;
+
+  @Autowired
+  public JdbcInvalidationTransport(
+      CustomerInvalidationRepository repository,
+      PlatformTransactionManager transactionManager,
+      ClusterProperties properties
+  ) {
+    this.repository = Objects.requireNonNull(repository);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = Objects.requireNonNull(properties);
+  }
+
+  @Override
+  public void broadcast(Collection<UUID> customerIds) {
+    if (customerIds.isEmpty()) {
+      return;
+    }
+    repository.insertAll(customerIds, nodeId);
+  }
+
+  @Override
+  public void subscribe(Consumer<Collection<UUID>> listener) {
+    listeners.add(Objects.requireNonNull(listener));
+  }
+
+  /**
+   * Delivers invalidations of other nodes written since the previous poll to listeners.
+   */
+  public synchronized void poll() {
+    if (latest == null) {
+      latest = transactionTemplate.execute(status -> repository.currentTimestamp());
+      lastPurge = latest;
+    }
+    Instant since = latest.minus(properties.lookback());
+    List<CustomerInvalidationRepository.Invalidation> invalidations = transactionTemplate.execute(
+        status -> repository.findCreatedAfter(since)
+    );
+    Set<UUID> customerIds = new LinkedHashSet<>();
+    for (CustomerInvalidationRepository.Invalidation invalidation : Objects.requireNonNull(invalidations)) {
+      if (invalidation.createdDtime().isAfter(latest)) {
+        latest = invalidation.createdDtime();
+      }
+      if (delivered.putIfAbsent(invalidation.id(), invalidation.createdDtime()) == null
+          && !nodeId.equals(invalidation.nodeId())) {
+        customerIds.add(invalidation.customerId());
+      }
+    }
+    delivered.values().removeIf(createdDtime -> !createdDtime.isAfter(since));
+    if (!customerIds.isEmpty()) {
+      listeners.forEach(listener -> listener.accept(customerIds));
+    }
+    if (latest.isAfter(lastPurge.plus(properties.retention()))) {
+      Instant purgeBefore = latest.minus(properties.retention());
+      transactionTemplate.executeWithoutResult(status -> repository.deleteCreatedBefore(purgeBefore));
+      lastPurge = latest;
+    }
+  }
+
+  @Override
+  public void start() {
+    executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "customer-invalidation-poller");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = properties.pollInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::pollAndLogFailure, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(properties.pollInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executor = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  private void pollAndLogFailure() {
+    try {
+      poll();
+    } catch (RuntimeException e) {
+      log.error("Failed to poll customer invalidations", e);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.metsmarko.lhvcms.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.metsmarko.lhvcms.metrics.MetricsJackson2CborHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compact binary alternative to JSON for clients accepting {@code application/cbor}. UUIDs are written as 16 byte
+ * strings and instants as decimal epoch seconds, keeping the same precision as JSON. JSON stays the default format.
+ */
+@Configuration
+public class CborConfig {
+
+  @Bean
+  public MetricsJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MetricsJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+  }
+
+  /**
+   * CBOR object mapper with modules and settings of the given JSON object mapper builder.
+   */
+  public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder
+        .factory(new CBORFactory())
+        .featuresToEnable(
+            SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+            SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+            DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS
+        )
+        .build();
+  }
+}
@@ -0,0 +1,21 @@
+package com.metsmarko.lhvcms.config;
+
+import com.metsmarko.lhvcms.customer.CustomerIdProperties;
+import com.metsmarko.lhvcms.customer.model.CustomerIdGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hands the customer id strategy to Hibernate, which creates {@link CustomerIdGenerator} outside of Spring.
+ */
+@Configuration
+public class CustomerIdConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer customerIdStrategyCustomizer(CustomerIdProperties properties) {
+    return hibernateProperties -> hibernateProperties.put(
+        CustomerIdGenerator.STRATEGY_SETTING, properties.strategy().name()
+    );
+  }
+}
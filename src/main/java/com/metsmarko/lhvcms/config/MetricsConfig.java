@@ -0,0 +1,53 @@
+package com.metsmarko.lhvcms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metsmarko.lhvcms.metrics.MetricsJackson2HttpMessageConverter;
+import com.metsmarko.lhvcms.metrics.RepositoryTimingPostProcessor;
+import com.metsmarko.lhvcms.metrics.RequestMetricsInterceptor;
+import com.metsmarko.lhvcms.metrics.StatementBudgetProperties;
+import com.metsmarko.lhvcms.metrics.StatementCountingPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Objects;
+
+/**
+ * Per-request metrics of customer endpoints, see {@link RequestMetricsInterceptor}.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+  private final MeterRegistry meterRegistry;
+  private final StatementBudgetProperties statementBudgetProperties;
+
+  @Autowired
+  public MetricsConfig(MeterRegistry meterRegistry, StatementBudgetProperties statementBudgetProperties) {
+    this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    this.statementBudgetProperties = Objects.requireNonNull(statementBudgetProperties);
+  }
+
+  @Bean
+  public static RepositoryTimingPostProcessor repositoryTimingPostProcessor() {
+    return new RepositoryTimingPostProcessor();
+  }
+
+  @Bean
+  public MetricsJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    return new MetricsJackson2HttpMessageConverter(objectMapper);
+  }
+
+  @Bean
+  public static StatementCountingPostProcessor statementCountingPostProcessor() {
+    return new StatementCountingPostProcessor();
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry
+        .addInterceptor(new RequestMetricsInterceptor(meterRegistry, statementBudgetProperties))
+        .addPathPatterns("/customers/**", "/async/customers/**");
+  }
+}
@@ -0,0 +1,84 @@
+package com.metsmarko.lhvcms.config;
+
+import com.metsmarko.lhvcms.datasource.PrimaryReadsFilter;
+import com.metsmarko.lhvcms.datasource.ReadWriteRoutingDataSource;
+import com.metsmarko.lhvcms.datasource.Replica;
+import com.metsmarko.lhvcms.datasource.ReplicaLagMonitor;
+import com.metsmarko.lhvcms.datasource.ReplicaProperties;
+import com.metsmarko.lhvcms.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured data source with one routing read-only transactions to replicas. Pools of primary and
+ * replicas are not beans, so statement counting wraps only the routing data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lhvcms.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+  private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+  @Bean(destroyMethod = "close")
+  public ReplicaSet replicaSet(
+      DataSourceProperties dataSourceProperties,
+      ReplicaProperties properties,
+      Environment environment
+  ) {
+    Binder binder = Binder.get(environment);
+    HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+    List<Replica> replicas = new ArrayList<>(properties.nodes().size());
+    for (int i = 0; i < properties.nodes().size(); i++) {
+      ReplicaProperties.Node node = properties.nodes().get(i);
+      String name = "replica-" + i;
+      HikariDataSource replica = new HikariDataSource();
+      binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+      replica.setPoolName(name);
+      replica.setJdbcUrl(node.url());
+      replica.setUsername(node.username() != null ? node.username() : dataSourceProperties.determineUsername());
+      replica.setPassword(node.password() != null ? node.password() : dataSourceProperties.determinePassword());
+      replica.setMaximumPoolSize(properties.poolSize());
+      replica.setMinimumIdle(properties.poolSize());
+      replica.setReadOnly(true);
+      // replica that is down at startup is left out of use by lag checks instead of failing the application
+      replica.setInitializationFailTimeout(-1);
+      replicas.add(new Replica(name, replica));
+    }
+    return new ReplicaSet(primary, replicas);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+    return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(replicaSet, meterRegistry));
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      ReplicaSet replicaSet,
+      ReplicaProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    return new ReplicaLagMonitor(replicaSet, properties, meterRegistry);
+  }
+
+  @Bean
+  public PrimaryReadsFilter primaryReadsFilter(ReplicaProperties properties) {
+    return new PrimaryReadsFilter(properties.stickiness(), properties.readPaths());
+  }
+}
@@ -0,0 +1,100 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import com.metsmarko.lhvcms.swagger.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Same API as {@link CustomerController}, but request threads are released while the customer service call runs on
+ * a bounded executor.
+ */
+@RestController
+@RequestMapping("async/customers")
+@ApiResponse(responseCode = "200", description = "Ok")
+public class CustomerAsyncController {
+  private final CustomerAsyncService service;
+
+  @Autowired
+  public CustomerAsyncController(CustomerAsyncService customerAsyncService) {
+    this.service = Objects.requireNonNull(customerAsyncService);
+  }
+
+  @PostMapping
+  @Operation(summary = "Creates new customer")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid input")
+  @ApiErrorResponse(responseCode = "409", description = "Email is already in use")
+  @ApiErrorResponse(responseCode = "503", description = "Too many requests in progress")
+  public CompletableFuture<ResponseEntity<CustomerDto>> insertCustomer(
+      @RequestBody CreateOrUpdateCustomerDto newCustomerDto
+  ) {
+    return service.insertCustomer(newCustomerDto).thenApply(this::withETag);
+  }
+
+  @GetMapping("/{id}")
+  @Operation(summary = "Gets customer by id, If-None-Match with current entity tag of customer returns 304")
+  @ApiResponse(responseCode = "304", description = "Customer not modified")
+  @ApiErrorResponse(responseCode = "404", description = "Customer not found")
+  @ApiErrorResponse(responseCode = "503", description = "Too many requests in progress")
+  public CompletableFuture<ResponseEntity<CustomerDto>> getCustomerById(@PathVariable UUID id) {
+    return service.getCustomerById(id).thenApply(this::withETagOrNotFound);
+  }
+
+  @PutMapping("/{id}")
+  @Operation(summary = "Updates customer by id, If-Match limits update to given entity tag of customer")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid input")
+  @ApiErrorResponse(responseCode = "404", description = "Customer not found")
+  @ApiErrorResponse(responseCode = "409", description = "Email is already in use")
+  @ApiErrorResponse(responseCode = "412", description = "Customer has been modified")
+  @ApiErrorResponse(responseCode = "503", description = "Too many requests in progress")
+  public CompletableFuture<ResponseEntity<CustomerDto>> updateCustomer(
+      @PathVariable UUID id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody CreateOrUpdateCustomerDto customerDto
+  ) throws BadInputException {
+    return service.updateCustomer(id, CustomerETags.expectedVersion(ifMatch), customerDto)
+        .thenApply(this::withETagOrNotFound);
+  }
+
+  @DeleteMapping("/{id}")
+  @Operation(summary = "Deletes customer by id, If-Match limits delete to given entity tag of customer")
+  @ApiErrorResponse(responseCode = "412", description = "Customer has been modified")
+  @ApiErrorResponse(responseCode = "503", description = "Too many requests in progress")
+  public CompletableFuture<Void> deleteCustomerById(
+      @PathVariable UUID id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+  ) throws BadInputException {
+    return service.deleteCustomerById(id, CustomerETags.expectedVersion(ifMatch));
+  }
+
+  private ResponseEntity<CustomerDto> withETagOrNotFound(Optional<CustomerDto> customer) {
+    return customer
+        .map(this::withETag)
+        .orElseThrow(() -> CustomerController.CUSTOMER_NOT_FOUND);
+  }
+
+  private ResponseEntity<CustomerDto> withETag(CustomerDto customer) {
+    return ResponseEntity.ok()
+        .eTag(CustomerETags.of(customer))
+        .body(customer);
+  }
+}
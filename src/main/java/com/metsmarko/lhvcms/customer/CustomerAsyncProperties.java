@@ -0,0 +1,14 @@
+package com.metsmarko.lhvcms.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("lhvcms.customer.async")
+public record CustomerAsyncProperties(
+    @DefaultValue("20") int poolSize,
+    @DefaultValue("1000") int queueCapacity,
+    @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
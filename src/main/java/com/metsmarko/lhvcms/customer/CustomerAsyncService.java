@@ -0,0 +1,88 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.datasource.ReplicaRouting;
+import com.metsmarko.lhvcms.metrics.RequestMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link CustomerService} calls on a bounded executor. When the queue is full, calls are rejected with
+ * {@link java.util.concurrent.RejectedExecutionException} instead of waiting.
+ */
+@Service
+public class CustomerAsyncService {
+  private final CustomerService service;
+  private final CustomerAsyncProperties properties;
+  private final ThreadPoolExecutor executor;
+
+  @Autowired
+  public CustomerAsyncService(CustomerService service, CustomerAsyncProperties properties) {
+    this.service = Objects.requireNonNull(service);
+    this.properties = Objects.requireNonNull(properties);
+    this.executor = new ThreadPoolExecutor(
+        properties.poolSize(),
+        properties.poolSize(),
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(properties.queueCapacity()),
+        new CustomizableThreadFactory("customer-async-"),
+        new ThreadPoolExecutor.AbortPolicy()
+    );
+  }
+
+  public CompletableFuture<CustomerDto> insertCustomer(CreateOrUpdateCustomerDto newCustomerDto) {
+    return supply(() -> service.insertCustomer(newCustomerDto));
+  }
+
+  public CompletableFuture<Optional<CustomerDto>> getCustomerById(UUID id) {
+    return supply(() -> service.getCustomerById(id));
+  }
+
+  public CompletableFuture<Optional<CustomerDto>> updateCustomer(
+      UUID id,
+      Long expectedVersion,
+      CreateOrUpdateCustomerDto customerDto
+  ) {
+    return supply(() -> service.updateCustomer(id, expectedVersion, customerDto));
+  }
+
+  public CompletableFuture<Void> deleteCustomerById(UUID id, Long expectedVersion) {
+    return supply(() -> {
+      service.deleteCustomerById(id, expectedVersion);
+      return null;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private <T> CompletableFuture<T> supply(Callable<T> call) {
+    return CompletableFuture.supplyAsync(ReplicaRouting.propagate(RequestMetrics.propagate(() -> {
+      try {
+        return call.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        // Spring MVC unwraps CompletionException, so checked exceptions reach ExceptionControllerAdvice as they are
+        throw new CompletionException(e);
+      }
+    })), executor);
+  }
+}
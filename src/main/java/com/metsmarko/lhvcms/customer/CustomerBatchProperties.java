@@ -0,0 +1,11 @@
+package com.metsmarko.lhvcms.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("lhvcms.customer.batch")
+public record CustomerBatchProperties(
+    @DefaultValue("1000") int maxSize,
+    @DefaultValue("500") int jdbcBatchSize
+) {
+}
@@ -0,0 +1,61 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.metsmarko.lhvcms.customer.CustomerService.CUSTOMERS_CACHE;
+
+/**
+ * Programmatic access to the customers cache for bulk operations and invalidations that can not use cache annotations.
+ */
+@Component
+public class CustomerCache {
+  private final Cache cache;
+
+  @Autowired
+  public CustomerCache(CacheManager cacheManager) {
+    this.cache = Objects.requireNonNull(cacheManager.getCache(CUSTOMERS_CACHE));
+  }
+
+  /**
+   * Returns cached customer or null.
+   */
+  public CustomerDto get(UUID id) {
+    return cache.get(id, CustomerDto.class);
+  }
+
+  public void put(CustomerDto customer) {
+    cache.put(customer.id(), customer);
+  }
+
+  public void evict(Collection<UUID> ids) {
+    ids.forEach(cache::evict);
+  }
+
+  public void evictAfterCommit(Collection<UUID> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      ids.forEach(cache::evict);
+      return;
+    }
+    List<UUID> idsToEvict = List.copyOf(ids);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        idsToEvict.forEach(cache::evict);
+      }
+    });
+  }
+}
@@ -1,13 +1,21 @@
 package com.metsmarko.lhvcms.customer;
 
+import com.metsmarko.lhvcms.customer.model.BatchCustomerItemDto;
+import com.metsmarko.lhvcms.customer.model.BatchCustomerResultDto;
 import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerDeleteResultDto;
 import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerImportResultDto;
+import com.metsmarko.lhvcms.customer.model.CustomerLookupResultDto;
+import com.metsmarko.lhvcms.customer.model.CustomerPageDto;
 import com.metsmarko.lhvcms.exception.BadInputException;
 import com.metsmarko.lhvcms.exception.NotFoundException;
 import com.metsmarko.lhvcms.swagger.ApiErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +23,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -25,47 +39,136 @@ import java.util.UUID;
 @RequestMapping("customers")
 @ApiResponse(responseCode = "200", description = "Ok")
 public class CustomerController {
+  static final NotFoundException CUSTOMER_NOT_FOUND = new NotFoundException("Customer not found");
+
   private final CustomerService service;
+  private final CustomerImportService importService;
+  private final CustomerExportService exportService;
+  private final CustomerLookupService lookupService;
 
   @Autowired
-  public CustomerController(CustomerService customerService) {
+  public CustomerController(
+      CustomerService customerService,
+      CustomerImportService importService,
+      CustomerExportService exportService,
+      CustomerLookupService lookupService
+  ) {
     this.service = Objects.requireNonNull(customerService);
+    this.importService = Objects.requireNonNull(importService);
+    this.exportService = Objects.requireNonNull(exportService);
+    this.lookupService = Objects.requireNonNull(lookupService);
   }
 
   @PostMapping
   @Operation(summary = "Creates new customer")
   @ApiErrorResponse(responseCode = "400", description = "Invalid input")
+  @ApiErrorResponse(responseCode = "409", description = "Email is already in use")
   public ResponseEntity<CustomerDto> insertCustomer(
       @RequestBody CreateOrUpdateCustomerDto newCustomerDto
   ) throws BadInputException {
-    return ResponseEntity.ok(service.insertCustomer(newCustomerDto));
+    return withETag(service.insertCustomer(newCustomerDto));
+  }
+
+  @PostMapping("/batch")
+  @Operation(summary = "Creates customers without id and updates customers with id in bulk")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid batch size")
+  @ApiErrorResponse(responseCode = "409", description = "Email is already in use")
+  public ResponseEntity<List<BatchCustomerResultDto>> upsertCustomers(
+      @RequestBody List<BatchCustomerItemDto> customers
+  ) throws BadInputException {
+    return ResponseEntity.ok(service.upsertCustomers(customers));
+  }
+
+  @PostMapping("/batch/delete")
+  @Operation(summary = "Deletes customers with a single statement, ids of customers that do not exist are listed as missing")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid number of ids")
+  public ResponseEntity<CustomerDeleteResultDto> deleteCustomers(@RequestBody List<UUID> ids) throws BadInputException {
+    return ResponseEntity.ok(service.deleteCustomers(ids));
+  }
+
+  @PostMapping("/lookup")
+  @Operation(summary = "Gets customers in the order of the ids, ids of customers that do not exist are listed as missing")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid number of ids")
+  public ResponseEntity<CustomerLookupResultDto> lookupCustomers(@RequestBody List<UUID> ids) throws BadInputException {
+    return ResponseEntity.ok(lookupService.lookupCustomers(ids));
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Imports customers from newline delimited JSON, valid lines are committed in chunks")
+  public ResponseEntity<CustomerImportResultDto> importCustomers(InputStream customers) throws IOException {
+    return ResponseEntity.ok(importService.importCustomers(customers));
+  }
+
+  @GetMapping
+  @Operation(summary = "Gets customers ordered by creation time, next page is requested with cursor of the previous page")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid cursor or limit")
+  public ResponseEntity<CustomerPageDto> getCustomers(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit
+  ) throws BadInputException {
+    return ResponseEntity.ok(service.getCustomers(cursor, limit));
+  }
+
+  @GetMapping("/search")
+  @Operation(summary = "Searches customers by exact email or by case insensitive last and first name prefixes")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid search parameters")
+  public ResponseEntity<List<CustomerDto>> searchCustomers(
+      @RequestParam(required = false) String email,
+      @RequestParam(required = false) String lastName,
+      @RequestParam(required = false) String firstName,
+      @RequestParam(required = false) Integer limit
+  ) throws BadInputException {
+    return ResponseEntity.ok(service.searchCustomers(email, lastName, firstName, limit));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Streams all customers ordered by creation time as newline delimited JSON")
+  public ResponseEntity<StreamingResponseBody> exportCustomers() {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(exportService::exportCustomers);
   }
 
   @GetMapping("/{id}")
-  @Operation(summary = "Gets customer by id")
+  @Operation(summary = "Gets customer by id, If-None-Match with current entity tag of customer returns 304")
+  @ApiResponse(responseCode = "304", description = "Customer not modified")
   @ApiErrorResponse(responseCode = "404", description = "Customer not found")
   public ResponseEntity<CustomerDto> getCustomerById(@PathVariable UUID id) {
+    // If-None-Match is evaluated against the entity tag of the response by Spring MVC
     return service.getCustomerById(id)
-        .map(ResponseEntity::ok)
-        .orElseThrow(() -> new NotFoundException("Customer not found"));
+        .map(this::withETag)
+        .orElseThrow(() -> CUSTOMER_NOT_FOUND);
   }
 
   @PutMapping("/{id}")
-  @Operation(summary = "Updates customer by id")
+  @Operation(summary = "Updates customer by id, If-Match limits update to given entity tag of customer")
   @ApiErrorResponse(responseCode = "400", description = "Invalid input")
   @ApiErrorResponse(responseCode = "404", description = "Customer not found")
+  @ApiErrorResponse(responseCode = "409", description = "Email is already in use")
+  @ApiErrorResponse(responseCode = "412", description = "Customer has been modified")
   public ResponseEntity<CustomerDto> updateCustomer(
       @PathVariable UUID id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @RequestBody CreateOrUpdateCustomerDto customerDto
   ) throws BadInputException {
-    return service.updateCustomer(id, customerDto)
-        .map(ResponseEntity::ok)
-        .orElseThrow(() -> new NotFoundException("Customer not found"));
+    return service.updateCustomer(id, CustomerETags.expectedVersion(ifMatch), customerDto)
+        .map(this::withETag)
+        .orElseThrow(() -> CUSTOMER_NOT_FOUND);
   }
 
   @DeleteMapping("/{id}")
-  @Operation(summary = "Deletes customer by id")
-  public void deleteCustomerById(@PathVariable UUID id) {
-    service.deleteCustomerById(id);
+  @Operation(summary = "Deletes customer by id, If-Match limits delete to given entity tag of customer")
+  @ApiErrorResponse(responseCode = "412", description = "Customer has been modified")
+  public void deleteCustomerById(
+      @PathVariable UUID id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+  ) throws BadInputException {
+    service.deleteCustomerById(id, CustomerETags.expectedVersion(ifMatch));
+  }
+
+  private ResponseEntity<CustomerDto> withETag(CustomerDto customer) {
+    return ResponseEntity.ok()
+        .eTag(CustomerETags.of(customer))
+        .body(customer);
   }
 }
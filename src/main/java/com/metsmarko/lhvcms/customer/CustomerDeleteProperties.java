@@ -0,0 +1,21 @@
+package com.metsmarko.lhvcms.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * With {@code soft} deletes only mark customers deleted, the purger deletes customers that have been marked deleted
+ * for {@code purgeAfter} in batches of {@code purgeBatchSize}, pausing {@code purgeBatchDelay} between batches.
+ */
+@ConfigurationProperties("lhvcms.customer.delete")
+public record CustomerDeleteProperties(
+    @DefaultValue("false") boolean soft,
+    @DefaultValue("true") boolean purgeEnabled,
+    @DefaultValue("0s") Duration purgeAfter,
+    @DefaultValue("10s") Duration purgeInterval,
+    @DefaultValue("500") int purgeBatchSize,
+    @DefaultValue("100ms") Duration purgeBatchDelay
+) {
+}
@@ -0,0 +1,43 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import com.metsmarko.lhvcms.exception.PreconditionFailedException;
+
+/**
+ * Strong entity tags of customers are their quoted versions.
+ */
+final class CustomerETags {
+  private static final String ANY = "*";
+  private static final String QUOTE = "\"";
+  private static final PreconditionFailedException NO_MATCH = new PreconditionFailedException("Entity tag does not match");
+
+  private CustomerETags() {
+  }
+
+  static String of(CustomerDto customer) {
+    return QUOTE + customer.version() + QUOTE;
+  }
+
+  /**
+   * Returns version required by If-Match header or null when any version is accepted.
+   */
+  static Long expectedVersion(String ifMatch) throws BadInputException {
+    if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+      return null;
+    }
+    String eTag = ifMatch.trim();
+    if (eTag.contains(",")) {
+      throw new BadInputException("If-Match must contain a single entity tag");
+    }
+    // weak and unknown entity tags never match strongly
+    if (eTag.length() < 3 || !eTag.startsWith(QUOTE) || !eTag.endsWith(QUOTE)) {
+      throw NO_MATCH;
+    }
+    try {
+      return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+    } catch (NumberFormatException e) {
+      throw NO_MATCH;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.metsmarko.lhvcms.customer;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Emails are unique across customers, including soft deleted customers that have not been purged yet.
+ */
+public final class CustomerEmails {
+  public static final String DUPLICATE_EMAIL_ERROR = "Customer with given email already exists";
+  private static final String UNIQUE_INDEX = "customer_email_uidx";
+
+  private CustomerEmails() {
+  }
+
+  /**
+   * Tells whether exception was caused by the unique index on email, databases name the violated index in the message.
+   */
+  public static boolean isDuplicateEmail(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (namesUniqueIndex(cause)) {
+        return true;
+      }
+      if (cause instanceof SQLException sqlException) {
+        // failed JDBC batches chain the failure of each statement
+        for (SQLException next = sqlException.getNextException(); next != null; next = next.getNextException()) {
+          if (namesUniqueIndex(next)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean namesUniqueIndex(Throwable exception) {
+    String message = exception.getMessage();
+    return message != null && message.toLowerCase(Locale.ROOT).contains(UNIQUE_INDEX);
+  }
+}
@@ -0,0 +1,48 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes all customers as newline delimited JSON while reading them from a database cursor, so the number of
+ * customers held in memory does not depend on the size of the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CustomerExportService {
+  private final CustomerRepository repository;
+  private final ObjectMapper objectMapper;
+
+  @Autowired
+  public CustomerExportService(CustomerRepository repository, ObjectMapper objectMapper) {
+    this.repository = Objects.requireNonNull(repository);
+    this.objectMapper = Objects.requireNonNull(objectMapper);
+  }
+
+  public void exportCustomers(OutputStream output) throws IOException {
+    try (Stream<CustomerDto> customers = repository.streamAll()) {
+      customers.forEach(customer -> writeLine(output, customer));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    output.flush();
+  }
+
+  private void writeLine(OutputStream output, CustomerDto customer) {
+    try {
+      output.write(objectMapper.writeValueAsBytes(customer));
+      output.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
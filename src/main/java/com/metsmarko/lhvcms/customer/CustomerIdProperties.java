@@ -0,0 +1,11 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CustomerIdStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("lhvcms.customer.id")
+public record CustomerIdProperties(
+    @DefaultValue("time-ordered") CustomerIdStrategy strategy
+) {
+}
@@ -0,0 +1,11 @@
+package com.metsmarko.lhvcms.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("lhvcms.customer.import")
+public record CustomerImportProperties(
+    @DefaultValue("1000") int chunkSize,
+    @DefaultValue("1000") int maxReportedErrors
+) {
+}
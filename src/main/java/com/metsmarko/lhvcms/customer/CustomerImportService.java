@@ -0,0 +1,189 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomerImportResultDto;
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports newline delimited JSON customers. Lines are validated one by one and valid customers are written in
+ * fixed size chunks, each chunk in its own transaction, so memory use does not depend on the size of the input.
+ */
+@Service
+public class CustomerImportService {
+  private static final Logger log = LoggerFactory.getLogger(CustomerImportService.class);
+
+  private final CustomerRepository repository;
+  private final CustomerValidator validator;
+  private final ObjectReader customerReader;
+  private final TransactionTemplate transactionTemplate;
+  private final CustomerImportProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public CustomerImportService(
+      CustomerRepository repository,
+      CustomerValidator validator,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      CustomerImportProperties properties,
+      ApplicationEventPublisher eventPublisher
+  ) {
+    this.repository = Objects.requireNonNull(repository);
+    this.validator = Objects.requireNonNull(validator);
+    this.customerReader = objectMapper.readerFor(CreateOrUpdateCustomerDto.class);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = Objects.requireNonNull(properties);
+    this.eventPublisher = Objects.requireNonNull(eventPublisher);
+  }
+
+  public CustomerImportResultDto importCustomers(InputStream input) throws IOException {
+    long start = System.nanoTime();
+    List<CreateOrUpdateCustomerDto> chunk = new ArrayList<>(properties.chunkSize());
+    List<Long> chunkLines = new ArrayList<>(properties.chunkSize());
+    List<CustomerImportResultDto.LineError> errors = new ArrayList<>();
+    long lines = 0;
+    long imported = 0;
+    long failed = 0;
+    try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines++;
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          CreateOrUpdateCustomerDto customer = customerReader.readValue(line);
+          validator.validate(customer);
+          chunk.add(customer);
+          chunkLines.add(lines);
+        } catch (JsonProcessingException e) {
+          failed++;
+          addError(errors, lines, "Invalid JSON");
+        } catch (BadInputException e) {
+          failed++;
+          addError(errors, lines, e.getMessage());
+        }
+        if (chunk.size() == properties.chunkSize()) {
+          List<CustomerImportResultDto.LineError> duplicates = writeChunk(chunk, chunkLines);
+          imported += chunk.size() - duplicates.size();
+          failed += duplicates.size();
+          duplicates.forEach(error -> addError(errors, error.line(), error.error()));
+          chunk = new ArrayList<>(properties.chunkSize());
+          chunkLines = new ArrayList<>(properties.chunkSize());
+          log.debug("Imported {} customers, {} lines processed", imported, lines);
+        }
+      }
+    }
+    List<CustomerImportResultDto.LineError> duplicates = writeChunk(chunk, chunkLines);
+    imported += chunk.size() - duplicates.size();
+    failed += duplicates.size();
+    duplicates.forEach(error -> addError(errors, error.line(), error.error()));
+    errors.sort(Comparator.comparingLong(CustomerImportResultDto.LineError::line));
+
+    long durationNanos = System.nanoTime() - start;
+    double rowsPerSecond = durationNanos == 0 ? 0 : imported * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    log.info(
+        "Imported {} customers from {} lines in {} ms ({} rows/sec), {} lines failed",
+        imported, lines, TimeUnit.NANOSECONDS.toMillis(durationNanos), Math.round(rowsPerSecond), failed
+    );
+    return new CustomerImportResultDto(
+        lines,
+        imported,
+        failed,
+        TimeUnit.NANOSECONDS.toMillis(durationNanos),
+        rowsPerSecond,
+        errors,
+        failed > errors.size()
+    );
+  }
+
+  /**
+   * Writes chunk and returns errors of lines that were not written because their emails are taken. When emails are
+   * taken concurrently after they were checked, the chunk is written again customer by customer.
+   */
+  private List<CustomerImportResultDto.LineError> writeChunk(List<CreateOrUpdateCustomerDto> chunk, List<Long> lines) {
+    if (chunk.isEmpty()) {
+      return List.of();
+    }
+    try {
+      return Objects.requireNonNull(transactionTemplate.execute(status -> insertChunk(chunk, lines)));
+    } catch (DataIntegrityViolationException e) {
+      if (!CustomerEmails.isDuplicateEmail(e)) {
+        throw e;
+      }
+    }
+    List<CustomerImportResultDto.LineError> duplicates = new ArrayList<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      List<CreateOrUpdateCustomerDto> customer = chunk.subList(i, i + 1);
+      List<Long> line = lines.subList(i, i + 1);
+      try {
+        duplicates.addAll(Objects.requireNonNull(transactionTemplate.execute(status -> insertChunk(customer, line))));
+      } catch (DataIntegrityViolationException e) {
+        if (!CustomerEmails.isDuplicateEmail(e)) {
+          throw e;
+        }
+        duplicates.add(new CustomerImportResultDto.LineError(line.get(0), CustomerEmails.DUPLICATE_EMAIL_ERROR));
+      }
+    }
+    return duplicates;
+  }
+
+  private List<CustomerImportResultDto.LineError> insertChunk(List<CreateOrUpdateCustomerDto> chunk, List<Long> lines) {
+    Map<String, UUID> existing = repository.findIdsByEmails(
+        chunk.stream().map(CreateOrUpdateCustomerDto::email).toList()
+    );
+    Set<String> chunkEmails = new HashSet<>();
+    List<CreateOrUpdateCustomerDto> inserts = new ArrayList<>(chunk.size());
+    List<CustomerImportResultDto.LineError> duplicates = new ArrayList<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      CreateOrUpdateCustomerDto customer = chunk.get(i);
+      if (existing.containsKey(customer.email()) || !chunkEmails.add(customer.email())) {
+        duplicates.add(new CustomerImportResultDto.LineError(lines.get(i), CustomerEmails.DUPLICATE_EMAIL_ERROR));
+      } else {
+        inserts.add(customer);
+      }
+    }
+    if (!inserts.isEmpty()) {
+      eventPublisher.publishEvent(new CustomersChangedEvent(
+          repository.insertAll(inserts).stream()
+              .map(entity -> CustomerChange.of(CustomerChange.Type.CREATED, entity))
+              .toList()
+      ));
+    }
+    return duplicates;
+  }
+
+  private void addError(List<CustomerImportResultDto.LineError> errors, long line, String error) {
+    if (errors.size() < properties.maxReportedErrors()) {
+      errors.add(new CustomerImportResultDto.LineError(line, error));
+    }
+  }
+}
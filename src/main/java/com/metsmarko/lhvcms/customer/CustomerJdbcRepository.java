@@ -0,0 +1,60 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface CustomerJdbcRepository {
+
+  /**
+   * Inserts customers using JDBC batches, results are in the same order as the input.
+   */
+  List<CustomerEntity> insertAll(List<CreateOrUpdateCustomerDto> customers);
+
+  /**
+   * Updates customers using JDBC batches. Customers that do not exist are missing from the result, customers modified
+   * or deleted between reading their versions and updating them are not updated and are reported as modified.
+   */
+  UpdateAllResult updateAll(Map<UUID, CreateOrUpdateCustomerDto> customers);
+
+  /**
+   * Updates customer and reads back its timestamps and version without loading and merging the entity, in a single
+   * statement on databases that support returning updated rows. When expected version is given, customer is
+   * updated only if its version matches.
+   */
+  Optional<CustomerEntity> updateReturning(UUID id, Long expectedVersion, CreateOrUpdateCustomerDto customer);
+
+  /**
+   * Returns ids of customers having given emails by email. Soft deleted customers are included, their emails are taken
+   * until they are purged.
+   */
+  Map<String, UUID> findIdsByEmails(Collection<String> emails);
+
+  /**
+   * Deletes or marks deleted customers with a single statement on databases that support returning deleted rows,
+   * returns ids of deleted customers.
+   */
+  List<UUID> deleteAll(Collection<UUID> ids, boolean soft);
+
+  /**
+   * Returns current time of the database, which gives customers their timestamps.
+   */
+  Instant currentTimestamp();
+
+  /**
+   * Deletes at most {@code limit} customers that have been marked deleted for at least given duration, returns number
+   * of deleted customers.
+   */
+  int purgeDeleted(Duration deletedFor, int limit);
+
+  record UpdateAllResult(Map<UUID, CustomerEntity> updated, Set<UUID> modified) {
+  }
+}
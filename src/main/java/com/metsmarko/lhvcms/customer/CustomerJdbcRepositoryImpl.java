@@ -0,0 +1,258 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+class CustomerJdbcRepositoryImpl implements CustomerJdbcRepository {
+  private static final String CURRENT_TIMESTAMP_SQL = "SELECT CURRENT_TIMESTAMP";
+  private static final String INSERT_SQL = "INSERT INTO customer (id, first_name, last_name, email, created_dtime, modified_dtime, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+  private static final String UPDATE_SQL = "UPDATE customer SET first_name = ?, last_name = ?, email = ?, modified_dtime = ?, version = version + 1 WHERE id = ? AND version = ? AND deleted_dtime IS NULL";
+  private static final String SELECT_CREATED_DTIME_SQL = "SELECT id, created_dtime, version FROM customer WHERE id IN (:ids) AND deleted_dtime IS NULL";
+  private static final String UPDATE_CURRENT_TIMESTAMP_SQL = "UPDATE customer SET first_name = ?, last_name = ?, email = ?, modified_dtime = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND deleted_dtime IS NULL";
+  private static final String VERSION_CONDITION_SQL = " AND version = ?";
+  private static final String RETURNED_COLUMNS = "created_dtime, modified_dtime, version";
+  private static final String SELECT_RETURNED_COLUMNS_SQL = "SELECT " + RETURNED_COLUMNS + " FROM customer WHERE id = ?";
+  private static final String SELECT_IDS_BY_EMAIL_SQL = "SELECT id, email FROM customer WHERE email IN (:emails)";
+  private static final String DELETE_ALL_SQL = "DELETE FROM customer WHERE id IN (:ids) AND deleted_dtime IS NULL";
+  private static final String SOFT_DELETE_ALL_SQL = "UPDATE customer SET deleted_dtime = CURRENT_TIMESTAMP, version = version + 1 WHERE id IN (:ids) AND deleted_dtime IS NULL";
+  private static final String SELECT_NOT_DELETED_IDS_SQL = "SELECT id FROM customer WHERE id IN (:ids) AND deleted_dtime IS NULL";
+  private static final String PURGE_SQL = "DELETE FROM customer WHERE id IN (SELECT id FROM customer WHERE deleted_dtime <= ? ORDER BY deleted_dtime LIMIT ?)";
+  private static final String POSTGRESQL = "PostgreSQL";
+  private static final String H2 = "H2";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final CustomerBatchProperties properties;
+  private final CustomerIdProperties idProperties;
+  private volatile String databaseProductName;
+
+  CustomerJdbcRepositoryImpl(
+      JdbcTemplate jdbcTemplate,
+      NamedParameterJdbcTemplate namedJdbcTemplate,
+      CustomerBatchProperties properties,
+      CustomerIdProperties idProperties
+  ) {
+    this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    this.namedJdbcTemplate = Objects.requireNonNull(namedJdbcTemplate);
+    this.properties = Objects.requireNonNull(properties);
+    this.idProperties = Objects.requireNonNull(idProperties);
+  }
+
+  @Override
+  public List<CustomerEntity> insertAll(List<CreateOrUpdateCustomerDto> customers) {
+    if (customers.isEmpty()) {
+      return List.of();
+    }
+    Instant now = currentTimestamp();
+    List<CustomerEntity> entities = new ArrayList<>(customers.size());
+    for (CreateOrUpdateCustomerDto customer : customers) {
+      entities.add(new CustomerEntity(
+          idProperties.strategy().nextId(), customer.firstName(), customer.lastName(), customer.email(), now, now, 0
+      ));
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, entities, properties.jdbcBatchSize(), (ps, entity) -> {
+      ps.setObject(1, entity.id());
+      ps.setString(2, entity.firstName());
+      ps.setString(3, entity.lastName());
+      ps.setString(4, entity.email());
+      ps.setObject(5, toOffsetDateTime(entity.createdDtime()));
+      ps.setObject(6, toOffsetDateTime(entity.modifiedDtime()));
+    });
+    return entities;
+  }
+
+  @Override
+  public UpdateAllResult updateAll(Map<UUID, CreateOrUpdateCustomerDto> customers) {
+    if (customers.isEmpty()) {
+      return new UpdateAllResult(Map.of(), Set.of());
+    }
+    Map<UUID, CustomerEntity> existing = findExisting(customers.keySet());
+    Instant now = currentTimestamp();
+    List<CustomerEntity> entities = new ArrayList<>(existing.size());
+    customers.forEach((id, customer) -> {
+      CustomerEntity current = existing.get(id);
+      if (current != null) {
+        entities.add(new CustomerEntity(
+            id, customer.firstName(), customer.lastName(), customer.email(), current.createdDtime(), now,
+            current.version() + 1
+        ));
+      }
+    });
+    int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, entities, properties.jdbcBatchSize(), (ps, entity) -> {
+      ps.setString(1, entity.firstName());
+      ps.setString(2, entity.lastName());
+      ps.setString(3, entity.email());
+      ps.setObject(4, toOffsetDateTime(entity.modifiedDtime()));
+      ps.setObject(5, entity.id());
+      ps.setLong(6, entity.version() - 1);
+    });
+    Map<UUID, CustomerEntity> updated = new LinkedHashMap<>();
+    Set<UUID> modified = new LinkedHashSet<>();
+    int i = 0;
+    for (int[] batch : updateCounts) {
+      for (int count : batch) {
+        CustomerEntity entity = entities.get(i++);
+        // customer existed, so it was deleted or modified between select and update
+        if (count != 0) {
+          updated.put(entity.id(), entity);
+        } else {
+          modified.add(entity.id());
+        }
+      }
+    }
+    return new UpdateAllResult(updated, modified);
+  }
+
+  @Override
+  public Optional<CustomerEntity> updateReturning(UUID id, Long expectedVersion, CreateOrUpdateCustomerDto customer) {
+    String updateSql = expectedVersion == null
+        ? UPDATE_CURRENT_TIMESTAMP_SQL
+        : UPDATE_CURRENT_TIMESTAMP_SQL + VERSION_CONDITION_SQL;
+    Object[] args = expectedVersion == null
+        ? new Object[] {customer.firstName(), customer.lastName(), customer.email(), id}
+        : new Object[] {customer.firstName(), customer.lastName(), customer.email(), id, expectedVersion};
+    RowMapper<CustomerEntity> rowMapper = (rs, i) -> toEntity(id, customer, rs);
+    String updateReturningSql = switch (databaseProductName()) {
+      case POSTGRESQL -> updateSql + " RETURNING " + RETURNED_COLUMNS;
+      case H2 -> "SELECT " + RETURNED_COLUMNS + " FROM FINAL TABLE (" + updateSql + ")";
+      default -> null;
+    };
+    if (updateReturningSql != null) {
+      return jdbcTemplate.query(updateReturningSql, rowMapper, args).stream().findFirst();
+    }
+    // databases that can not return updated rows need a separate select
+    if (jdbcTemplate.update(updateSql, args) == 0) {
+      return Optional.empty();
+    }
+    return jdbcTemplate.query(SELECT_RETURNED_COLUMNS_SQL, rowMapper, id).stream().findFirst();
+  }
+
+  @Override
+  public Map<String, UUID> findIdsByEmails(Collection<String> emails) {
+    Map<String, UUID> ids = new HashMap<>();
+    List<String> distinctEmails = List.copyOf(new LinkedHashSet<>(emails));
+    for (int i = 0; i < distinctEmails.size(); i += properties.jdbcBatchSize()) {
+      List<String> chunk = distinctEmails.subList(i, Math.min(i + properties.jdbcBatchSize(), distinctEmails.size()));
+      namedJdbcTemplate.query(
+          SELECT_IDS_BY_EMAIL_SQL,
+          Map.of("emails", chunk),
+          rs -> {
+            ids.put(rs.getString("email"), rs.getObject("id", UUID.class));
+          }
+      );
+    }
+    return ids;
+  }
+
+  @Override
+  public List<UUID> deleteAll(Collection<UUID> ids, boolean soft) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    String deleteSql = soft ? SOFT_DELETE_ALL_SQL : DELETE_ALL_SQL;
+    RowMapper<UUID> idMapper = (rs, i) -> rs.getObject("id", UUID.class);
+    String deleteReturningSql = switch (databaseProductName()) {
+      case POSTGRESQL -> deleteSql + " RETURNING id";
+      case H2 -> "SELECT id FROM OLD TABLE (" + deleteSql + ")";
+      default -> null;
+    };
+    if (deleteReturningSql != null) {
+      return namedJdbcTemplate.query(deleteReturningSql, Map.of("ids", ids), idMapper);
+    }
+    // databases that can not return deleted rows need a separate select
+    List<UUID> existing = namedJdbcTemplate.query(SELECT_NOT_DELETED_IDS_SQL, Map.of("ids", ids), idMapper);
+    if (!existing.isEmpty()) {
+      namedJdbcTemplate.update(deleteSql, Map.of("ids", existing));
+    }
+    return existing;
+  }
+
+  @Override
+  public int purgeDeleted(Duration deletedFor, int limit) {
+    Instant deletedBefore = currentTimestamp().minus(deletedFor);
+    return jdbcTemplate.update(PURGE_SQL, toOffsetDateTime(deletedBefore), limit);
+  }
+
+  @Override
+  public Instant currentTimestamp() {
+    return Objects.requireNonNull(
+        jdbcTemplate.queryForObject(CURRENT_TIMESTAMP_SQL, (rs, i) -> rs.getObject(1, OffsetDateTime.class))
+    ).toInstant();
+  }
+
+  private String databaseProductName() {
+    String productName = databaseProductName;
+    if (productName == null) {
+      productName = jdbcTemplate.execute(
+          (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+      );
+      databaseProductName = productName;
+    }
+    return Objects.requireNonNull(productName);
+  }
+
+  private Map<UUID, CustomerEntity> findExisting(Iterable<UUID> ids) {
+    List<UUID> chunk = new ArrayList<>(properties.jdbcBatchSize());
+    Map<UUID, CustomerEntity> existing = new HashMap<>();
+    for (UUID id : ids) {
+      chunk.add(id);
+      if (chunk.size() == properties.jdbcBatchSize()) {
+        selectExisting(chunk, existing);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      selectExisting(chunk, existing);
+    }
+    return existing;
+  }
+
+  /**
+   * Only id, created time and version of existing customers are read.
+   */
+  private void selectExisting(List<UUID> ids, Map<UUID, CustomerEntity> existing) {
+    namedJdbcTemplate.query(SELECT_CREATED_DTIME_SQL, Map.of("ids", ids), rs -> {
+      UUID id = rs.getObject("id", UUID.class);
+      Instant createdDtime = rs.getObject("created_dtime", OffsetDateTime.class).toInstant();
+      existing.put(id, new CustomerEntity(id, null, null, null, createdDtime, null, rs.getLong("version")));
+    });
+  }
+
+  private static CustomerEntity toEntity(UUID id, CreateOrUpdateCustomerDto customer, ResultSet rs) throws SQLException {
+    return new CustomerEntity(
+        id,
+        customer.firstName(),
+        customer.lastName(),
+        customer.email(),
+        rs.getObject("created_dtime", OffsetDateTime.class).toInstant(),
+        rs.getObject("modified_dtime", OffsetDateTime.class).toInstant(),
+        rs.getLong("version")
+    );
+  }
+
+  private static OffsetDateTime toOffsetDateTime(Instant instant) {
+    return instant.atOffset(ZoneOffset.UTC);
+  }
+}
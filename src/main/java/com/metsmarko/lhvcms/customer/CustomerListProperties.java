@@ -0,0 +1,11 @@
+package com.metsmarko.lhvcms.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("lhvcms.customer.list")
+public record CustomerListProperties(
+    @DefaultValue("100") int defaultLimit,
+    @DefaultValue("1000") int maxLimit
+) {
+}
@@ -0,0 +1,14 @@
+package com.metsmarko.lhvcms.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Customers missing from the cache are read with IN queries of at most {@code chunkSize} ids.
+ */
+@ConfigurationProperties("lhvcms.customer.lookup")
+public record CustomerLookupProperties(
+    @DefaultValue("1000") int maxSize,
+    @DefaultValue("250") int chunkSize
+) {
+}
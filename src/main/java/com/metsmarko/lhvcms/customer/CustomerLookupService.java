@@ -0,0 +1,80 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerLookupResultDto;
+import com.metsmarko.lhvcms.datasource.ReplicaRouting;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolves many customer ids at once: cached customers are taken from the cache and the rest are read with a few
+ * chunked IN queries instead of one query per id. Customers read from the database are cached like single reads.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CustomerLookupService {
+  private final CustomerRepository repository;
+  private final CustomerCache cache;
+  private final CustomerLookupProperties properties;
+
+  @Autowired
+  public CustomerLookupService(
+      CustomerRepository repository,
+      CustomerCache cache,
+      CustomerLookupProperties properties
+  ) {
+    this.repository = Objects.requireNonNull(repository);
+    this.cache = Objects.requireNonNull(cache);
+    this.properties = Objects.requireNonNull(properties);
+  }
+
+  public CustomerLookupResultDto lookupCustomers(List<UUID> ids) throws BadInputException {
+    if (ids.isEmpty() || ids.size() > properties.maxSize()) {
+      throw new BadInputException("Lookup must contain between 1 and %d ids".formatted(properties.maxSize()));
+    }
+    if (ids.stream().anyMatch(Objects::isNull)) {
+      throw new BadInputException("Id must not be empty");
+    }
+    Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+    Map<UUID, CustomerDto> found = new HashMap<>();
+    List<UUID> uncached = new ArrayList<>();
+    for (UUID id : distinctIds) {
+      CustomerDto customer = cache.get(id);
+      if (customer != null) {
+        found.put(id, customer);
+      } else {
+        uncached.add(id);
+      }
+    }
+    for (int i = 0; i < uncached.size(); i += properties.chunkSize()) {
+      List<UUID> chunk = uncached.subList(i, Math.min(i + properties.chunkSize(), uncached.size()));
+      // customers read are cached, so they are read from primary like single reads
+      for (CustomerDto customer : ReplicaRouting.withPrimary(() -> repository.findDtosByIdIn(chunk))) {
+        found.put(customer.id(), customer);
+        cache.put(customer);
+      }
+    }
+    List<CustomerDto> customers = new ArrayList<>(found.size());
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : distinctIds) {
+      CustomerDto customer = found.get(id);
+      if (customer != null) {
+        customers.add(customer);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new CustomerLookupResultDto(customers, missing);
+  }
+}
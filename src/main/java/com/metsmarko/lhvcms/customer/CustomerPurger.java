@@ -0,0 +1,115 @@
+package com.metsmarko.lhvcms.customer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes soft deleted customers in the background. Each batch is deleted in its own short transaction and batches
+ * are paused between, so purging does not hold locks or saturate the database while requests are served. Runs only
+ * with soft deletes, hard deletes leave nothing to purge.
+ */
+@Component
+public class CustomerPurger implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(CustomerPurger.class);
+
+  private final CustomerRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final CustomerDeleteProperties properties;
+  private final Counter purgedCounter;
+  private ScheduledExecutorService executor;
+  private volatile boolean stopping;
+
+  @Autowired
+  public CustomerPurger(
+      CustomerRepository repository,
+      PlatformTransactionManager transactionManager,
+      CustomerDeleteProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    this.repository = Objects.requireNonNull(repository);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = Objects.requireNonNull(properties);
+    this.purgedCounter = meterRegistry.counter("customer.purged");
+  }
+
+  /**
+   * Deletes batches until no customers are due for purging or the purger is stopped, returns number of deleted
+   * customers.
+   */
+  public int purge() {
+    int purged = 0;
+    while (true) {
+      int batchSize = Objects.requireNonNull(transactionTemplate.execute(
+          status -> repository.purgeDeleted(properties.purgeAfter(), properties.purgeBatchSize())
+      ));
+      purged += batchSize;
+      purgedCounter.increment(batchSize);
+      if (batchSize < properties.purgeBatchSize() || stopping) {
+        return purged;
+      }
+      try {
+        Thread.sleep(properties.purgeBatchDelay());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return purged;
+      }
+    }
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return properties.soft() && properties.purgeEnabled();
+  }
+
+  @Override
+  public void start() {
+    if (!isAutoStartup()) {
+      return;
+    }
+    stopping = false;
+    executor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "customer-purger"));
+    long intervalMillis = properties.purgeInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::purgeAndLogFailure, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (executor == null) {
+      return;
+    }
+    // purge in progress stops after its current batch
+    stopping = true;
+    executor.shutdown();
+    try {
+      executor.awaitTermination(properties.purgeInterval().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executor = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  private void purgeAndLogFailure() {
+    try {
+      purge();
+    } catch (RuntimeException e) {
+      log.error("Failed to purge deleted customers", e);
+    }
+  }
+}
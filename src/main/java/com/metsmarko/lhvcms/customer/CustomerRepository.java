@@ -1,11 +1,102 @@
 package com.metsmarko.lhvcms.customer;
 
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
 import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID> {
+public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID>, CustomerJdbcRepository {
+  String EXPORT_FETCH_SIZE = "1000";
+
+  Optional<CustomerEntity> findByEmail(String email);
+
+  List<CustomerEntity> findByLastNameStartingWithIgnoreCaseAndFirstNameStartingWithIgnoreCase(
+      String lastNamePrefix,
+      String firstNamePrefix,
+      Pageable pageable
+  );
+
+  @Query("""
+      select new com.metsmarko.lhvcms.customer.model.CustomerDto(
+        c.id, c.firstName, c.lastName, c.email, c.createdDtime, c.modifiedDtime, c.version
+      )
+      from CustomerEntity c
+      where c.id in :ids
+      """)
+  List<CustomerDto> findDtosByIdIn(Collection<UUID> ids);
+
+  @Query("select c from CustomerEntity c order by c.createdDtime, c.id")
+  List<CustomerEntity> findFirstPage(Pageable pageable);
+
+  @Query("""
+      select c from CustomerEntity c
+      where c.createdDtime >= :createdDtime and (c.createdDtime > :createdDtime or c.id > :id)
+      order by c.createdDtime, c.id
+      """)
+  List<CustomerEntity> findPageAfter(Instant createdDtime, UUID id, Pageable pageable);
+
+  /**
+   * Deletes without loading the customer first, returns number of deleted customers.
+   */
+  @Modifying
+  @Query("delete from CustomerEntity c where c.id = :id and c.deletedDtime is null")
+  int deleteDirectlyById(UUID id);
+
+  @Modifying
+  @Query("delete from CustomerEntity c where c.id = :id and c.version = :version and c.deletedDtime is null")
+  int deleteByIdAndVersion(UUID id, long version);
+
+  /**
+   * Marks customer deleted without loading it first, returns number of deleted customers.
+   */
+  @Modifying
+  @Query(
+      value = """
+          UPDATE customer SET deleted_dtime = CURRENT_TIMESTAMP, version = version + 1
+          WHERE id = :id AND deleted_dtime IS NULL
+          """,
+      nativeQuery = true
+  )
+  int softDeleteById(UUID id);
+
+  @Modifying
+  @Query(
+      value = """
+          UPDATE customer SET deleted_dtime = CURRENT_TIMESTAMP, version = version + 1
+          WHERE id = :id AND version = :version AND deleted_dtime IS NULL
+          """,
+      nativeQuery = true
+  )
+  int softDeleteByIdAndVersion(UUID id, long version);
+
+  /**
+   * Results are not managed entities, so the persistence context does not grow while the stream is consumed.
+   * Stream must be consumed inside a transaction and closed.
+   */
+  @Query("""
+      select new com.metsmarko.lhvcms.customer.model.CustomerDto(
+        c.id, c.firstName, c.lastName, c.email, c.createdDtime, c.modifiedDtime, c.version
+      )
+      from CustomerEntity c
+      order by c.createdDtime, c.id
+      """)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<CustomerDto> streamAll();
 }
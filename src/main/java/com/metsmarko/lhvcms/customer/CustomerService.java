@@ -1,82 +1,310 @@
 package com.metsmarko.lhvcms.customer;
 
+import com.metsmarko.lhvcms.customer.model.BatchCustomerItemDto;
+import com.metsmarko.lhvcms.customer.model.BatchCustomerResultDto;
 import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomerCursor;
+import com.metsmarko.lhvcms.customer.model.CustomerDeleteResultDto;
 import com.metsmarko.lhvcms.customer.model.CustomerDto;
 import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+import com.metsmarko.lhvcms.customer.model.CustomerPageDto;
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
+import com.metsmarko.lhvcms.datasource.ReplicaRouting;
 import com.metsmarko.lhvcms.exception.BadInputException;
-import jakarta.validation.Validator;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.metsmarko.lhvcms.exception.PreconditionFailedException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional(readOnly = true)
 public class CustomerService {
-  private static final Logger log = LoggerFactory.getLogger(CustomerService.class);
+  public static final String CUSTOMERS_CACHE = "customers";
+  // unique order, so limited results are the same on every call and database
+  private static final Sort SEARCH_ORDER = Sort.by("lastName", "firstName", "id");
+  private static final String MODIFIED_ERROR = "Customer has been modified or deleted";
+  private static final PreconditionFailedException CUSTOMER_MODIFIED = new PreconditionFailedException(MODIFIED_ERROR);
 
   private final CustomerRepository repository;
-  private final Validator validator;
+  private final CustomerValidator validator;
+  private final CustomerCache cache;
+  private final CustomerBatchProperties batchProperties;
+  private final CustomerListProperties listProperties;
+  private final CustomerDeleteProperties deleteProperties;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public CustomerService(CustomerRepository repository, Validator validator) {
+  public CustomerService(
+      CustomerRepository repository,
+      CustomerValidator validator,
+      CustomerCache cache,
+      CustomerBatchProperties batchProperties,
+      CustomerListProperties listProperties,
+      CustomerDeleteProperties deleteProperties,
+      ApplicationEventPublisher eventPublisher
+  ) {
     this.repository = Objects.requireNonNull(repository);
     this.validator = Objects.requireNonNull(validator);
+    this.cache = Objects.requireNonNull(cache);
+    this.batchProperties = Objects.requireNonNull(batchProperties);
+    this.listProperties = Objects.requireNonNull(listProperties);
+    this.deleteProperties = Objects.requireNonNull(deleteProperties);
+    this.eventPublisher = Objects.requireNonNull(eventPublisher);
   }
 
   @Transactional
+  @CachePut(cacheNames = CUSTOMERS_CACHE, key = "#result.id()")
   public CustomerDto insertCustomer(CreateOrUpdateCustomerDto newCustomerDto) throws BadInputException {
-    validateCustomerDto(newCustomerDto);
+    validator.validate(newCustomerDto);
     CustomerEntity entity = repository.save(new CustomerEntity(newCustomerDto));
     repository.flush();
+    eventPublisher.publishEvent(CustomersChangedEvent.of(CustomerChange.of(CustomerChange.Type.CREATED, entity)));
     return entity.toDto();
   }
 
+  /**
+   * Reads from primary, a lagging replica would cache a version older than the last eviction until the entry expires.
+   */
+  @Cacheable(cacheNames = CUSTOMERS_CACHE, unless = "#result == null")
   public Optional<CustomerDto> getCustomerById(UUID id) {
-    return repository
+    return ReplicaRouting.withPrimary(() -> repository
         .findById(id)
-        .map(CustomerEntity::toDto);
+        .map(CustomerEntity::toDto));
+  }
+
+  public CustomerPageDto getCustomers(String cursor, Integer limit) throws BadInputException {
+    int pageSize = validateLimit(limit);
+    // one extra row tells whether there is a next page
+    PageRequest pageRequest = PageRequest.ofSize(pageSize + 1);
+    List<CustomerEntity> entities;
+    if (cursor == null) {
+      entities = repository.findFirstPage(pageRequest);
+    } else {
+      CustomerCursor position = CustomerCursor.decode(cursor);
+      entities = repository.findPageAfter(position.createdDtime(), position.id(), pageRequest);
+    }
+    List<CustomerDto> customers = entities.stream()
+        .limit(pageSize)
+        .map(CustomerEntity::toDto)
+        .toList();
+    String nextCursor = entities.size() > pageSize ? CustomerCursor.of(customers.get(pageSize - 1)).encode() : null;
+    return new CustomerPageDto(customers, nextCursor);
+  }
+
+  public List<CustomerDto> searchCustomers(
+      String email,
+      String lastNamePrefix,
+      String firstNamePrefix,
+      Integer limit
+  ) throws BadInputException {
+    if (email != null) {
+      if (lastNamePrefix != null || firstNamePrefix != null) {
+        throw new BadInputException("Search by email can not be combined with search by name");
+      }
+      return repository.findByEmail(email)
+          .map(CustomerEntity::toDto)
+          .stream()
+          .toList();
+    }
+    if (!StringUtils.hasLength(lastNamePrefix) && !StringUtils.hasLength(firstNamePrefix)) {
+      throw new BadInputException("Email, last name or first name must not be empty");
+    }
+    return repository
+        .findByLastNameStartingWithIgnoreCaseAndFirstNameStartingWithIgnoreCase(
+            Objects.requireNonNullElse(lastNamePrefix, ""),
+            Objects.requireNonNullElse(firstNamePrefix, ""),
+            PageRequest.of(0, validateLimit(limit), SEARCH_ORDER)
+        )
+        .stream()
+        .map(CustomerEntity::toDto)
+        .toList();
   }
 
   @Transactional
+  @CacheEvict(cacheNames = CUSTOMERS_CACHE, key = "#id")
   public Optional<CustomerDto> updateCustomer(
       UUID id,
+      Long expectedVersion,
       CreateOrUpdateCustomerDto customerDto
   ) throws BadInputException {
-    validateCustomerDto(customerDto);
-    return repository
-        .findById(id)
-        .map(ce -> {
-          var updatedCustomer = new CustomerEntity(
-              ce.id(),
-              customerDto.firstName(),
-              customerDto.lastName(),
-              customerDto.email(),
-              ce.createdDtime(),
-              Instant.now()
-          );
-          CustomerEntity entity = repository.save(updatedCustomer);
-          repository.flush();
-          return entity.toDto();
-        });
+    validator.validate(customerDto);
+    Optional<CustomerEntity> updated = repository.updateReturning(id, expectedVersion, customerDto);
+    if (updated.isEmpty() && expectedVersion != null) {
+      throw CUSTOMER_MODIFIED;
+    }
+    updated.ifPresent(entity -> eventPublisher.publishEvent(
+        CustomersChangedEvent.of(CustomerChange.of(CustomerChange.Type.UPDATED, entity))
+    ));
+    return updated.map(CustomerEntity::toDto);
+  }
+
+  @Transactional
+  @CacheEvict(cacheNames = CUSTOMERS_CACHE, key = "#id")
+  public void deleteCustomerById(UUID id, Long expectedVersion) {
+    int deleted;
+    if (deleteProperties.soft()) {
+      deleted = expectedVersion == null
+          ? repository.softDeleteById(id)
+          : repository.softDeleteByIdAndVersion(id, expectedVersion);
+    } else {
+      deleted = expectedVersion == null
+          ? repository.deleteDirectlyById(id)
+          : repository.deleteByIdAndVersion(id, expectedVersion);
+    }
+    if (deleted == 0 && expectedVersion != null) {
+      throw CUSTOMER_MODIFIED;
+    }
+    if (deleted > 0) {
+      eventPublisher.publishEvent(CustomersChangedEvent.of(CustomerChange.deleted(id, repository.currentTimestamp())));
+    }
   }
 
   @Transactional
-  public void deleteCustomerById(UUID id) {
-    repository.deleteById(id);
+  public List<BatchCustomerResultDto> upsertCustomers(List<BatchCustomerItemDto> items) throws BadInputException {
+    if (items.isEmpty() || items.size() > batchProperties.maxSize()) {
+      throw new BadInputException("Batch must contain between 1 and %d customers".formatted(batchProperties.maxSize()));
+    }
+    BatchCustomerResultDto[] results = new BatchCustomerResultDto[items.size()];
+    List<Integer> insertIndexes = new ArrayList<>();
+    List<CreateOrUpdateCustomerDto> inserts = new ArrayList<>();
+    Map<UUID, Integer> updateIndexes = new LinkedHashMap<>();
+    Map<UUID, CreateOrUpdateCustomerDto> updates = new LinkedHashMap<>();
+    // duplicate emails are found before writing, so they fail their items instead of the whole batch
+    Map<String, UUID> emailOwners = repository.findIdsByEmails(items.stream()
+        .filter(item -> item != null && item.customer() != null && item.customer().email() != null)
+        .map(item -> item.customer().email())
+        .toList());
+    Set<String> batchEmails = new HashSet<>();
+    for (int i = 0; i < items.size(); i++) {
+      BatchCustomerItemDto item = items.get(i);
+      try {
+        validateBatchItem(item);
+      } catch (BadInputException e) {
+        results[i] = BatchCustomerResultDto.failed(i, BatchCustomerResultDto.Status.BAD_INPUT, e.getMessage());
+        continue;
+      }
+      if (item.id() != null && updateIndexes.containsKey(item.id())) {
+        results[i] = BatchCustomerResultDto.failed(
+            i, BatchCustomerResultDto.Status.BAD_INPUT, "Customer is already present in batch"
+        );
+        continue;
+      }
+      String email = item.customer().email();
+      UUID emailOwner = emailOwners.get(email);
+      if (emailOwner != null && !emailOwner.equals(item.id())) {
+        results[i] = BatchCustomerResultDto.failed(
+            i, BatchCustomerResultDto.Status.CONFLICT, CustomerEmails.DUPLICATE_EMAIL_ERROR
+        );
+        continue;
+      }
+      if (!batchEmails.add(email)) {
+        results[i] = BatchCustomerResultDto.failed(
+            i, BatchCustomerResultDto.Status.CONFLICT, "Email is already present in batch"
+        );
+        continue;
+      }
+      if (item.id() == null) {
+        insertIndexes.add(i);
+        inserts.add(item.customer());
+      } else {
+        updateIndexes.put(item.id(), i);
+        updates.put(item.id(), item.customer());
+      }
+    }
+
+    List<CustomerChange> changes = new ArrayList<>(items.size());
+    List<CustomerEntity> inserted = repository.insertAll(inserts);
+    for (int i = 0; i < inserted.size(); i++) {
+      changes.add(CustomerChange.of(CustomerChange.Type.CREATED, inserted.get(i)));
+      results[insertIndexes.get(i)] = BatchCustomerResultDto.ok(
+          insertIndexes.get(i), BatchCustomerResultDto.Status.CREATED, inserted.get(i).toDto()
+      );
+    }
+    CustomerJdbcRepository.UpdateAllResult updateResult = repository.updateAll(updates);
+    Map<UUID, CustomerEntity> updated = updateResult.updated();
+    updated.values().forEach(entity -> changes.add(CustomerChange.of(CustomerChange.Type.UPDATED, entity)));
+    updateIndexes.forEach((id, i) -> {
+      CustomerEntity entity = updated.get(id);
+      if (entity != null) {
+        results[i] = BatchCustomerResultDto.ok(i, BatchCustomerResultDto.Status.UPDATED, entity.toDto());
+      } else if (updateResult.modified().contains(id)) {
+        results[i] = BatchCustomerResultDto.failed(i, BatchCustomerResultDto.Status.MODIFIED, MODIFIED_ERROR);
+      } else {
+        results[i] = BatchCustomerResultDto.failed(i, BatchCustomerResultDto.Status.NOT_FOUND, "Customer not found");
+      }
+    });
+    cache.evictAfterCommit(updated.keySet());
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new CustomersChangedEvent(changes));
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Deletes customers with a single statement instead of a statement per customer.
+   */
+  @Transactional
+  public CustomerDeleteResultDto deleteCustomers(List<UUID> ids) throws BadInputException {
+    if (ids.isEmpty() || ids.size() > batchProperties.maxSize()) {
+      throw new BadInputException("Batch must contain between 1 and %d customers".formatted(batchProperties.maxSize()));
+    }
+    if (ids.stream().anyMatch(Objects::isNull)) {
+      throw new BadInputException("Id must not be empty");
+    }
+    Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+    Set<UUID> deleted = new HashSet<>(repository.deleteAll(distinctIds, deleteProperties.soft()));
+    Instant deletedDtime = deleted.isEmpty() ? null : repository.currentTimestamp();
+    List<UUID> deletedIds = new ArrayList<>(deleted.size());
+    List<UUID> missing = new ArrayList<>();
+    List<CustomerChange> changes = new ArrayList<>(deleted.size());
+    for (UUID id : distinctIds) {
+      if (deleted.contains(id)) {
+        deletedIds.add(id);
+        changes.add(CustomerChange.deleted(id, deletedDtime));
+      } else {
+        missing.add(id);
+      }
+    }
+    cache.evictAfterCommit(deletedIds);
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new CustomersChangedEvent(changes));
+    }
+    return new CustomerDeleteResultDto(deletedIds, missing);
+  }
+
+  private int validateLimit(Integer limit) throws BadInputException {
+    int pageSize = limit == null ? listProperties.defaultLimit() : limit;
+    if (pageSize < 1 || pageSize > listProperties.maxLimit()) {
+      throw new BadInputException("Limit must be between 1 and %d".formatted(listProperties.maxLimit()));
+    }
+    return pageSize;
   }
 
-  private void validateCustomerDto(CreateOrUpdateCustomerDto newCustomerDto) throws BadInputException {
-    var res = validator.validate(newCustomerDto);
-    if (!res.isEmpty()) {
-      log.warn("Invalid customer data: {}", res);
-      throw new BadInputException(res.stream().findFirst().get().getMessage());
+  private void validateBatchItem(BatchCustomerItemDto item) throws BadInputException {
+    if (item == null) {
+      throw new BadInputException("Customer must not be empty");
     }
+    validator.validate(item.customer());
   }
 }
@@ -0,0 +1,123 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import com.metsmarko.lhvcms.metrics.RequestMetrics;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.validator.constraints.Length;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validates customers against the constraints of {@link CreateOrUpdateCustomerDto} without a validator pass for
+ * every customer. Messages and lengths are read from the constraint annotations once, the validator is used only for
+ * emails that {@link EmailSyntax} can not decide. When there are several violations, fields are checked in the order
+ * first name, last name, email.
+ */
+@Component
+public class CustomerValidator {
+  private static final Logger log = LoggerFactory.getLogger(CustomerValidator.class);
+  private static final String EMAIL = "email";
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final Validator validator;
+  private final FieldConstraints firstName = FieldConstraints.of("firstName");
+  private final FieldConstraints lastName = FieldConstraints.of("lastName");
+  private final FieldConstraints email = FieldConstraints.of(EMAIL);
+  private final String emailMessage = field(EMAIL).getAnnotation(Email.class).message();
+  private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+  private final AtomicLong suppressedLogs = new AtomicLong();
+
+  @Autowired
+  public CustomerValidator(Validator validator) {
+    this.validator = Objects.requireNonNull(validator);
+  }
+
+  public void validate(CreateOrUpdateCustomerDto customerDto) throws BadInputException {
+    if (customerDto == null) {
+      throw new BadInputException("Customer must not be empty");
+    }
+    long start = System.nanoTime();
+    String error = firstError(customerDto);
+    RequestMetrics.addValidationNanos(System.nanoTime() - start);
+    if (error != null) {
+      logInvalid(error);
+      throw new BadInputException(error);
+    }
+  }
+
+  private String firstError(CreateOrUpdateCustomerDto customerDto) {
+    String error = firstName.check(customerDto.firstName());
+    if (error == null) {
+      error = lastName.check(customerDto.lastName());
+    }
+    if (error == null) {
+      error = email.check(customerDto.email());
+    }
+    if (error == null && !isValidEmail(customerDto.email())) {
+      error = emailMessage;
+    }
+    return error;
+  }
+
+  private boolean isValidEmail(String value) {
+    if (value.isEmpty()) {
+      return true;
+    }
+    return switch (EmailSyntax.check(value)) {
+      case VALID -> true;
+      case INVALID -> false;
+      case UNKNOWN -> validator.validateValue(CreateOrUpdateCustomerDto.class, EMAIL, value).isEmpty();
+    };
+  }
+
+  /**
+   * Logs at most one invalid customer per interval, so clients sending invalid data can not flood the log.
+   */
+  private void logInvalid(String error) {
+    long now = System.nanoTime();
+    long next = nextLogNanos.get();
+    if (now - next < 0 || !nextLogNanos.compareAndSet(next, now + LOG_INTERVAL_NANOS)) {
+      suppressedLogs.incrementAndGet();
+      return;
+    }
+    log.warn("Invalid customer data: {}, {} more invalid customers not logged", error, suppressedLogs.getAndSet(0));
+  }
+
+  private static Field field(String name) {
+    try {
+      return CreateOrUpdateCustomerDto.class.getDeclaredField(name);
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record FieldConstraints(String notNullMessage, int minLength, int maxLength, String lengthMessage) {
+    static FieldConstraints of(String name) {
+      Field field = field(name);
+      Length length = field.getAnnotation(Length.class);
+      return new FieldConstraints(
+          field.getAnnotation(NotNull.class).message(), length.min(), length.max(), length.message()
+      );
+    }
+
+    String check(String value) {
+      if (value == null) {
+        return notNullMessage;
+      }
+      if (value.length() < minLength || value.length() > maxLength) {
+        return lengthMessage;
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.metsmarko.lhvcms.customer;
+
+/**
+ * Checks email addresses with the rules of Hibernate Validator {@code @Email} without regular expressions or
+ * allocation. Only plain ASCII addresses are decided here, quoted local parts, non-ASCII characters and IP address
+ * domains are {@link Result#UNKNOWN} and must be checked by the validator itself.
+ */
+final class EmailSyntax {
+  enum Result {
+    VALID,
+    INVALID,
+    UNKNOWN
+  }
+
+  private static final int MAX_LOCAL_PART_LENGTH = 64;
+  private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+  private static final int MAX_DOMAIN_LENGTH = 255;
+  private static final boolean[] LOCAL_PART_CHARS = asciiChars("!#$%&'*+/=?^_`{|}~-");
+  private static final boolean[] DOMAIN_CHARS = asciiChars("!#$%&'*+/=?^_`{|}~");
+
+  private EmailSyntax() {
+  }
+
+  /**
+   * Email must not be empty, empty email is valid for {@code @Email}.
+   */
+  static Result check(String email) {
+    int at = email.lastIndexOf('@');
+    if (at < 0) {
+      return Result.INVALID;
+    }
+    Result localPart = checkLocalPart(email, at);
+    if (localPart == Result.INVALID) {
+      return Result.INVALID;
+    }
+    Result domain = checkDomain(email, at + 1);
+    if (domain == Result.INVALID) {
+      return Result.INVALID;
+    }
+    return localPart == Result.VALID && domain == Result.VALID ? Result.VALID : Result.UNKNOWN;
+  }
+
+  /**
+   * Local part is dot separated atoms, characters after a quote can not be decided without parsing quoted strings.
+   */
+  private static Result checkLocalPart(String email, int end) {
+    if (end == 0 || end > MAX_LOCAL_PART_LENGTH) {
+      return Result.INVALID;
+    }
+    boolean atomStart = true;
+    for (int i = 0; i < end; i++) {
+      char c = email.charAt(i);
+      if (c >= 0x80 || c == '"') {
+        return Result.UNKNOWN;
+      }
+      if (c == '.') {
+        if (atomStart) {
+          return Result.INVALID;
+        }
+        atomStart = true;
+      } else if (LOCAL_PART_CHARS[c]) {
+        atomStart = false;
+      } else {
+        return Result.INVALID;
+      }
+    }
+    return atomStart ? Result.INVALID : Result.VALID;
+  }
+
+  /**
+   * Domain is dot separated labels that start and end with a non-dash character and are at most 63 characters long.
+   */
+  private static Result checkDomain(String email, int start) {
+    int length = email.length() - start;
+    if (length == 0 || email.charAt(email.length() - 1) == '.') {
+      return Result.INVALID;
+    }
+    if (email.charAt(start) == '[') {
+      return Result.UNKNOWN;
+    }
+    int labelLength = 0;
+    char previous = '.';
+    for (int i = start; i < email.length(); i++) {
+      char c = email.charAt(i);
+      if (c >= 0x80) {
+        return Result.UNKNOWN;
+      }
+      if (c == '.') {
+        if (labelLength == 0 || previous == '-') {
+          return Result.INVALID;
+        }
+        labelLength = 0;
+      } else {
+        boolean labelChar = c == '-' ? labelLength > 0 : DOMAIN_CHARS[c];
+        if (!labelChar || ++labelLength > MAX_DOMAIN_LABEL_LENGTH) {
+          return Result.INVALID;
+        }
+      }
+      previous = c;
+    }
+    return previous == '-' || length > MAX_DOMAIN_LENGTH ? Result.INVALID : Result.VALID;
+  }
+
+  private static boolean[] asciiChars(String specialChars) {
+    boolean[] chars = new boolean[0x80];
+    for (char c = 'a'; c <= 'z'; c++) {
+      chars[c] = true;
+      chars[Character.toUpperCase(c)] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      chars[c] = true;
+    }
+    for (char c : specialChars.toCharArray()) {
+      chars[c] = true;
+    }
+    return chars;
+  }
+}
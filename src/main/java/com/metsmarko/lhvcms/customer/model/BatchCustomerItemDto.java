@@ -0,0 +1,12 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.util.UUID;
+
+/**
+ * Customer is created when id is missing, otherwise customer with given id is updated.
+ */
+public record BatchCustomerItemDto(
+    UUID id,
+    CreateOrUpdateCustomerDto customer
+) {
+}
@@ -0,0 +1,26 @@
+package com.metsmarko.lhvcms.customer.model;
+
+public record BatchCustomerResultDto(
+    int index,
+    Status status,
+    CustomerDto customer,
+    String error
+) {
+
+  public static BatchCustomerResultDto ok(int index, Status status, CustomerDto customer) {
+    return new BatchCustomerResultDto(index, status, customer, null);
+  }
+
+  public static BatchCustomerResultDto failed(int index, Status status, String error) {
+    return new BatchCustomerResultDto(index, status, null, error);
+  }
+
+  public enum Status {
+    CREATED,
+    UPDATED,
+    BAD_INPUT,
+    NOT_FOUND,
+    CONFLICT,
+    MODIFIED
+  }
+}
@@ -0,0 +1,39 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Committed change of a customer. Name, email and version are empty for deleted customers.
+ */
+public record CustomerChange(
+    UUID customerId,
+    Type type,
+    String firstName,
+    String lastName,
+    String email,
+    Long version,
+    Instant changedDtime
+) {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  public static CustomerChange of(Type type, CustomerEntity entity) {
+    return new CustomerChange(
+        entity.id(),
+        type,
+        entity.firstName(),
+        entity.lastName(),
+        entity.email(),
+        entity.version(),
+        entity.modifiedDtime()
+    );
+  }
+
+  public static CustomerChange deleted(UUID customerId, Instant deletedDtime) {
+    return new CustomerChange(customerId, Type.DELETED, null, null, null, null, deletedDtime);
+  }
+}
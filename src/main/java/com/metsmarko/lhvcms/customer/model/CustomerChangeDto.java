@@ -0,0 +1,26 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published customer change, position orders changes in the order they were published.
+ */
+public record CustomerChangeDto(
+    long position,
+    UUID customerId,
+    CustomerChange.Type type,
+    String firstName,
+    String lastName,
+    String email,
+    Long version,
+    Instant changedDtime
+) {
+
+  public static CustomerChangeDto of(long position, CustomerChange change) {
+    return new CustomerChangeDto(
+        position, change.customerId(), change.type(), change.firstName(), change.lastName(), change.email(),
+        change.version(), change.changedDtime()
+    );
+  }
+}
@@ -0,0 +1,12 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.util.List;
+
+/**
+ * Next since is the position of the last returned change, or the given since when there are no new changes.
+ */
+public record CustomerChangePageDto(
+    List<CustomerChangeDto> changes,
+    long nextSince
+) {
+}
@@ -0,0 +1,43 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import com.metsmarko.lhvcms.exception.BadInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in customers ordered by created time and id, encoded as an opaque string for clients.
+ */
+public record CustomerCursor(
+    Instant createdDtime,
+    UUID id
+) {
+  private static final String SEPARATOR = "_";
+
+  public static CustomerCursor of(CustomerDto customer) {
+    return new CustomerCursor(customer.createdDtime(), customer.id());
+  }
+
+  public static CustomerCursor decode(String cursor) throws BadInputException {
+    try {
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+      if (parts.length != 3) {
+        throw new BadInputException("Invalid cursor");
+      }
+      return new CustomerCursor(
+          Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+          UUID.fromString(parts[2])
+      );
+    } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+      throw new BadInputException("Invalid cursor");
+    }
+  }
+
+  public String encode() {
+    String cursor = createdDtime.getEpochSecond() + SEPARATOR + createdDtime.getNano() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+  }
+}
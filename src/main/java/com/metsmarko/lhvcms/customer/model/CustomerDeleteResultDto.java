@@ -0,0 +1,13 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deleted and missing ids are in the order of the requested ids, repeated ids are returned once.
+ */
+public record CustomerDeleteResultDto(
+    List<UUID> deleted,
+    List<UUID> missing
+) {
+}
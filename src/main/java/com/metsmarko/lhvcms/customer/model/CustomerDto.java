@@ -9,6 +9,7 @@ public record CustomerDto(
     String lastName,
     String email,
     Instant createdDtime,
-    Instant modifiedDtime
+    Instant modifiedDtime,
+    long version
 ) {
 }
@@ -2,11 +2,11 @@ package com.metsmarko.lhvcms.customer.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,9 +16,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "customer")
+@SQLRestriction("deleted_dtime is null")
 public class CustomerEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @CustomerId
   @Column(name = "id")
   private UUID id;
   @Column(name = "first_name")
@@ -33,6 +34,14 @@ public class CustomerEntity {
   @UpdateTimestamp(source = SourceType.DB)
   @Column(name = "modified_dtime")
   private Instant modifiedDtime;
+  @Version
+  @Column(name = "version")
+  private long version;
+  /**
+   * Set on soft deleted customers until they are purged, soft deleted customers are never loaded.
+   */
+  @Column(name = "deleted_dtime")
+  private Instant deletedDtime;
 
   public CustomerEntity(
       UUID id,
@@ -40,7 +49,8 @@ public class CustomerEntity {
       String lastName,
       String email,
       Instant createdDtime,
-      Instant modifiedDtime
+      Instant modifiedDtime,
+      long version
   ) {
     this.id = id;
     this.firstName = firstName;
@@ -48,6 +58,7 @@ public class CustomerEntity {
     this.email = email;
     this.createdDtime = createdDtime;
     this.modifiedDtime = modifiedDtime;
+    this.version = version;
   }
 
   protected CustomerEntity() {
@@ -83,8 +94,12 @@ public class CustomerEntity {
     return modifiedDtime;
   }
 
+  public long version() {
+    return version;
+  }
+
   public CustomerDto toDto() {
-    return new CustomerDto(id, firstName, lastName, email, createdDtime, modifiedDtime);
+    return new CustomerDto(id, firstName, lastName, email, createdDtime, modifiedDtime, version);
   }
 
   @Override
@@ -100,11 +115,12 @@ public class CustomerEntity {
         lastName.equals(that.lastName) &&
         email.equals(that.email) &&
         Objects.equals(createdDtime, that.createdDtime) &&
-        Objects.equals(modifiedDtime, that.modifiedDtime);
+        Objects.equals(modifiedDtime, that.modifiedDtime) &&
+        version == that.version;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, firstName, lastName, email, createdDtime, modifiedDtime);
+    return Objects.hash(id, firstName, lastName, email, createdDtime, modifiedDtime, version);
   }
 }
@@ -0,0 +1,17 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Customer id generated by {@link CustomerIdGenerator}.
+ */
+@IdGeneratorType(CustomerIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface CustomerId {
+}
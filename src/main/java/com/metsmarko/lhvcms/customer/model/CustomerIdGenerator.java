@@ -0,0 +1,46 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * Generates customer ids with the {@link CustomerIdStrategy} of Hibernate setting {@value #STRATEGY_SETTING}.
+ */
+public class CustomerIdGenerator implements BeforeExecutionGenerator {
+  public static final String STRATEGY_SETTING = "lhvcms.customer.id.strategy";
+
+  private final CustomerIdStrategy strategy;
+
+  public CustomerIdGenerator(CustomerId config, Member member, CustomIdGeneratorCreationContext context) {
+    Object strategySetting = context.getServiceRegistry()
+        .getService(ConfigurationService.class)
+        .getSettings()
+        .get(STRATEGY_SETTING);
+    this.strategy = strategySetting == null
+        ? CustomerIdStrategy.TIME_ORDERED
+        : CustomerIdStrategy.valueOf(Objects.toString(strategySetting));
+  }
+
+  @Override
+  public Object generate(
+      SharedSessionContractImplementor session,
+      Object owner,
+      Object currentValue,
+      EventType eventType
+  ) {
+    return strategy.nextId();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+}
@@ -0,0 +1,65 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * How ids of new customers are generated. Both strategies produce standard UUIDs, so customers created with either
+ * strategy live in the same table.
+ */
+public enum CustomerIdStrategy {
+  /**
+   * Random version 4 UUIDs, inserts land on random pages of the primary key index.
+   */
+  RANDOM {
+    @Override
+    public UUID nextId() {
+      return UUID.randomUUID();
+    }
+  },
+  /**
+   * Version 7 UUIDs (RFC 9562) starting with unix milliseconds, inserts append to the right edge of the primary key
+   * index. Ids are monotonic within the JVM, also when the clock moves backwards.
+   */
+  TIME_ORDERED {
+    @Override
+    public UUID nextId() {
+      return TimeOrderedIds.next();
+    }
+  };
+
+  public abstract UUID nextId();
+
+  private static final class TimeOrderedIds {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    private static long lastMillis;
+    private static int counter;
+
+    private TimeOrderedIds() {
+    }
+
+    static UUID next() {
+      long randomBits = RANDOM.nextLong();
+      long mostSigBits;
+      synchronized (TimeOrderedIds.class) {
+        long millis = System.currentTimeMillis();
+        if (millis > lastMillis) {
+          lastMillis = millis;
+          // random start keeps ids unguessable, upper half of counter is left for ids within the same millisecond
+          counter = RANDOM.nextInt(1 << (COUNTER_BITS - 1));
+        } else if (++counter > MAX_COUNTER) {
+          lastMillis++;
+          counter = 0;
+        }
+        mostSigBits = (lastMillis << 16) | VERSION_7 | counter;
+      }
+      return new UUID(mostSigBits, (randomBits & VARIANT_MASK) | VARIANT_RFC);
+    }
+  }
+}
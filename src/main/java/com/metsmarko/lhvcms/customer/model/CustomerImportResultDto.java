@@ -0,0 +1,20 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.util.List;
+
+public record CustomerImportResultDto(
+    long lines,
+    long imported,
+    long failed,
+    long durationMillis,
+    double rowsPerSecond,
+    List<LineError> errors,
+    boolean errorsTruncated
+) {
+
+  public record LineError(
+      long line,
+      String error
+  ) {
+  }
+}
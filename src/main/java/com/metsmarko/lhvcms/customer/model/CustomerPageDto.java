@@ -0,0 +1,12 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.util.List;
+
+/**
+ * Next cursor is missing on the last page.
+ */
+public record CustomerPageDto(
+    List<CustomerDto> customers,
+    String nextCursor
+) {
+}
@@ -0,0 +1,16 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that changes customers.
+ */
+public record CustomersChangedEvent(List<CustomerChange> changes) {
+  public CustomersChangedEvent {
+    changes = List.copyOf(changes);
+  }
+
+  public static CustomersChangedEvent of(CustomerChange change) {
+    return new CustomersChangedEvent(List.of(change));
+  }
+}
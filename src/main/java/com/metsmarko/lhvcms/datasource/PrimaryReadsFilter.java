@@ -0,0 +1,84 @@
+package com.metsmarko.lhvcms.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-your-writes for clients keeping cookies: changing requests set cookie {@value #COOKIE} that routes requests of
+ * the client to primary until replicas have caught up with the change. Changing requests read from primary themselves.
+ * POST requests to read paths, such as lookups sending ids in the body, are reads.
+ */
+public class PrimaryReadsFilter extends OncePerRequestFilter {
+  public static final String COOKIE = "lhvcms-primary-until";
+  private static final Set<String> READ_METHODS = Set.of(
+      HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name()
+  );
+
+  private final Duration stickiness;
+  private final Set<String> readPaths;
+
+  public PrimaryReadsFilter(Duration stickiness, Set<String> readPaths) {
+    this.stickiness = Objects.requireNonNull(stickiness);
+    this.readPaths = Set.copyOf(readPaths);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    long now = System.currentTimeMillis();
+    boolean changing = !READ_METHODS.contains(request.getMethod()) && !isReadPath(request);
+    if (changing) {
+      // cookie is set before the response is committed, failed changes only cost reads from primary
+      Cookie cookie = new Cookie(COOKIE, Long.toString(now + stickiness.toMillis()));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, (stickiness.toMillis() + 999) / 1000));
+      response.addCookie(cookie);
+    }
+    if (!changing && !isSticky(request, now)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    Boolean previous = ReplicaRouting.requirePrimary();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaRouting.restore(previous);
+    }
+  }
+
+  private boolean isReadPath(HttpServletRequest request) {
+    return HttpMethod.POST.matches(request.getMethod())
+        && readPaths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+  }
+
+  private static boolean isSticky(HttpServletRequest request, long now) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue()) > now;
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,55 @@
+package com.metsmarko.lhvcms.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Gives connections of available replicas to read-only transactions and connections of primary to everything else.
+ * Read-only flag of a transaction is known only after the transaction has begun, so this data source must be wrapped
+ * into {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. Replica that fails to give a
+ * connection is taken out of use and the transaction fails over to primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+  private final ReplicaSet replicaSet;
+  private final Counter primaryConnections;
+  private final Counter replicaConnections;
+  private final Counter failovers;
+
+  public ReadWriteRoutingDataSource(ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+    this.replicaSet = Objects.requireNonNull(replicaSet);
+    this.primaryConnections = meterRegistry.counter("datasource.routing.connections", "target", "primary");
+    this.replicaConnections = meterRegistry.counter("datasource.routing.connections", "target", "replica");
+    this.failovers = meterRegistry.counter("datasource.replica.failovers");
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReplicaRouting.isPrimaryRequired()) {
+      Replica replica = replicaSet.nextAvailableReplica();
+      if (replica != null) {
+        try {
+          Connection connection = replica.dataSource().getConnection();
+          replicaConnections.increment();
+          return connection;
+        } catch (SQLException e) {
+          replica.markUnavailable(e);
+          failovers.increment();
+        }
+      }
+    }
+    primaryConnections.increment();
+    return replicaSet.primary().getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    primaryConnections.increment();
+    return replicaSet.primary().getConnection(username, password);
+  }
+}
@@ -0,0 +1,85 @@
+package com.metsmarko.lhvcms.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Objects;
+import javax.sql.DataSource;
+
+/**
+ * Replica data source with its last known lag. Replica is not used before the first successful lag check.
+ */
+public class Replica {
+  private static final Logger log = LoggerFactory.getLogger(Replica.class);
+
+  private final String name;
+  private final DataSource dataSource;
+  private volatile boolean available;
+  private volatile long lagMillis = -1;
+
+  public Replica(String name, DataSource dataSource) {
+    this.name = Objects.requireNonNull(name);
+    this.dataSource = Objects.requireNonNull(dataSource);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public DataSource dataSource() {
+    return dataSource;
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  /**
+   * Last measured lag in milliseconds, -1 when replica could not be checked.
+   */
+  public long lagMillis() {
+    return lagMillis;
+  }
+
+  /**
+   * Measures lag of the replica, replica is available when lag is within tolerance.
+   */
+  public void check(String lagQuery, Duration maxLag) {
+    try (Connection connection = dataSource.getConnection();
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      resultSet.next();
+      lagMillis = resultSet.getLong(1);
+    } catch (SQLException e) {
+      lagMillis = -1;
+      setAvailable(false, e.getMessage());
+      return;
+    }
+    boolean withinTolerance = lagMillis <= maxLag.toMillis();
+    setAvailable(withinTolerance, withinTolerance ? null : "lag " + lagMillis + "ms");
+  }
+
+  /**
+   * Takes replica out of use until the next successful check.
+   */
+  public void markUnavailable(SQLException cause) {
+    setAvailable(false, cause.getMessage());
+  }
+
+  private void setAvailable(boolean available, String reason) {
+    if (this.available == available) {
+      return;
+    }
+    this.available = available;
+    if (available) {
+      log.info("Replica {} is available", name);
+    } else {
+      log.warn("Replica {} is unavailable: {}", name, reason);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.metsmarko.lhvcms.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks lag of replicas periodically, replicas come into use and out of use based on the checks.
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private final ReplicaSet replicaSet;
+  private final ReplicaProperties properties;
+  private ScheduledExecutorService executor;
+
+  public ReplicaLagMonitor(ReplicaSet replicaSet, ReplicaProperties properties, MeterRegistry meterRegistry) {
+    this.replicaSet = Objects.requireNonNull(replicaSet);
+    this.properties = Objects.requireNonNull(properties);
+    for (Replica replica : replicaSet.replicas()) {
+      Gauge.builder("datasource.replica.lag", replica, Replica::lagMillis)
+          .tag("replica", replica.name())
+          .baseUnit("milliseconds")
+          .register(meterRegistry);
+      Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+          .tag("replica", replica.name())
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * Checks all replicas once.
+   */
+  public void checkReplicas() {
+    for (Replica replica : replicaSet.replicas()) {
+      replica.check(properties.lagQuery(), properties.maxLag());
+    }
+  }
+
+  @Override
+  public void start() {
+    executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "replica-lag-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = properties.checkInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::checkAndLogFailure, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdownNow();
+    executor = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  private void checkAndLogFailure() {
+    try {
+      checkReplicas();
+    } catch (RuntimeException e) {
+      log.error("Failed to check replicas", e);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.metsmarko.lhvcms.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only transactions use replicas that lag behind primary at most {@code maxLag}. Clients read from primary for
+ * {@code stickiness} after their own changes. POST requests to {@code readPaths} only read data, so they do not count
+ * as changes. Lag query returns lag of the replica in milliseconds.
+ */
+@ConfigurationProperties("lhvcms.datasource.replicas")
+public record ReplicaProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue List<Node> nodes,
+    @DefaultValue("10") int poolSize,
+    @DefaultValue("1s") Duration maxLag,
+    @DefaultValue("5s") Duration stickiness,
+    @DefaultValue("/customers/lookup") Set<String> readPaths,
+    @DefaultValue("1s") Duration checkInterval,
+    @DefaultValue(ReplicaProperties.POSTGRESQL_LAG_QUERY) String lagQuery
+) {
+  private static final String POSTGRESQL_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+  /**
+   * Username and password default to the ones of primary.
+   */
+  public record Node(String url, String username, String password) {
+  }
+}
@@ -0,0 +1,57 @@
+package com.metsmarko.lhvcms.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work of the current thread that must read from primary, such as requests of clients that recently changed
+ * data themselves.
+ */
+public final class ReplicaRouting {
+  private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+  private ReplicaRouting() {
+  }
+
+  public static boolean isPrimaryRequired() {
+    return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+  }
+
+  /**
+   * Runs supplier with read-only transactions routed to primary.
+   */
+  public static <T> T withPrimary(Supplier<T> supplier) {
+    Boolean previous = requirePrimary();
+    try {
+      return supplier.get();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /**
+   * Returns supplier that keeps routing of the current thread when it runs on another thread.
+   */
+  public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+    if (!isPrimaryRequired()) {
+      return supplier;
+    }
+    return () -> withPrimary(supplier);
+  }
+
+  /**
+   * Routes read-only transactions of the current thread to primary, returns previous routing for {@link #restore}.
+   */
+  static Boolean requirePrimary() {
+    Boolean previous = PRIMARY_REQUIRED.get();
+    PRIMARY_REQUIRED.set(Boolean.TRUE);
+    return previous;
+  }
+
+  static void restore(Boolean previous) {
+    if (previous == null) {
+      PRIMARY_REQUIRED.remove();
+    } else {
+      PRIMARY_REQUIRED.set(previous);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.metsmarko.lhvcms.datasource;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Primary data source and its replicas, owns the connection pools.
+ */
+public class ReplicaSet implements AutoCloseable {
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  public ReplicaSet(DataSource primary, List<Replica> replicas) {
+    this.primary = Objects.requireNonNull(primary);
+    this.replicas = List.copyOf(replicas);
+  }
+
+  public DataSource primary() {
+    return primary;
+  }
+
+  public List<Replica> replicas() {
+    return replicas;
+  }
+
+  /**
+   * Returns available replicas in round-robin order, or null when no replica is available.
+   */
+  public Replica nextAvailableReplica() {
+    int size = replicas.size();
+    int start = nextReplica.getAndIncrement();
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get(Math.floorMod(start + i, size));
+      if (replica.isAvailable()) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource() instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+    if (primary instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+}
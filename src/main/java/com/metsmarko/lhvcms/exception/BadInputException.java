@@ -2,11 +2,14 @@ package com.metsmarko.lhvcms.exception;
 
 import java.io.Serial;
 
+/**
+ * Request input is invalid, answered with 400.
+ */
 public class BadInputException extends Exception {
   @Serial
   private static final long serialVersionUID = 1L;
 
   public BadInputException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -1,35 +1,86 @@
 package com.metsmarko.lhvcms.exception;
 
+import com.metsmarko.lhvcms.customer.CustomerEmails;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Turns exceptions into problem details. Exceptions of expected outcomes do not capture stack traces, so throwing them
+ * is cheap and instances can be shared.
+ */
 @ControllerAdvice
 public class ExceptionControllerAdvice {
   private static final Logger log = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
+  private static final String EXCEPTIONS_METRIC = "customer.exceptions";
+
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public ExceptionControllerAdvice(MeterRegistry meterRegistry) {
+    this.meterRegistry = Objects.requireNonNull(meterRegistry);
+  }
 
   @ExceptionHandler(NotFoundException.class)
   protected ResponseEntity<ProblemDetail> handleNotFound(Throwable ex, WebRequest request) {
-    return ResponseEntity
-        .of(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage()))
-        .build();
+    return problem(ex, ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage()));
   }
 
   @ExceptionHandler(BadInputException.class)
   protected ResponseEntity<ProblemDetail> handleBadInput(Throwable ex, WebRequest request) {
-    return ResponseEntity
-        .of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()))
-        .build();
+    return problem(ex, ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()));
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  protected ResponseEntity<ProblemDetail> handlePreconditionFailed(Throwable ex, WebRequest request) {
+    return problem(ex, ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage()));
+  }
+
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  protected ResponseEntity<ProblemDetail> handleConflict(Throwable ex, WebRequest request) {
+    // other violations are bugs, input is validated before it is written
+    if (!CustomerEmails.isDuplicateEmail(ex)) {
+      return handleUnknownError(ex, request);
+    }
+    log.warn("data integrity violation: {}", ex.getMessage());
+    return problem(ex, ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, CustomerEmails.DUPLICATE_EMAIL_ERROR));
+  }
+
+  @ExceptionHandler({
+      CannotCreateTransactionException.class,
+      DataAccessResourceFailureException.class,
+      RejectedExecutionException.class
+  })
+  protected ResponseEntity<ProblemDetail> handleServiceUnavailable(Throwable ex, WebRequest request) {
+    log.warn("service unavailable: {}", ex.getMessage());
+    return problem(ex, ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, try again later"));
   }
 
   @ExceptionHandler(Exception.class)
   protected ResponseEntity<ProblemDetail> handleUnknownError(Throwable ex, WebRequest request) {
     log.error("internal server error", ex);
-    return ResponseEntity.of(ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR)).build();
+    return problem(ex, ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+  }
+
+  private ResponseEntity<ProblemDetail> problem(Throwable ex, ProblemDetail problemDetail) {
+    meterRegistry.counter(
+        EXCEPTIONS_METRIC,
+        "exception", ex.getClass().getSimpleName(),
+        "status", String.valueOf(problemDetail.getStatus())
+    ).increment();
+    return ResponseEntity.of(problemDetail).build();
   }
 }
@@ -2,11 +2,14 @@ package com.metsmarko.lhvcms.exception;
 
 import java.io.Serial;
 
+/**
+ * Requested resource does not exist, answered with 404.
+ */
 public class NotFoundException extends RuntimeException {
   @Serial
   private static final long serialVersionUID = 1L;
 
   public NotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
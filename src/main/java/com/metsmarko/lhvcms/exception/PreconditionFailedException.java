@@ -0,0 +1,15 @@
+package com.metsmarko.lhvcms.exception;
+
+import java.io.Serial;
+
+/**
+ * Conditional request does not match the current version of the customer, answered with 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  public PreconditionFailedException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,16 @@
+package com.metsmarko.lhvcms.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("lhvcms.customer.history")
+public record CustomerHistoryProperties(
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("1s") Duration flushInterval,
+    @DefaultValue("1s") Duration offerTimeout,
+    @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,35 @@
+package com.metsmarko.lhvcms.history;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+public class CustomerHistoryRepository {
+  private static final String INSERT_SQL = "INSERT INTO customer_history (customer_id, change_type, first_name, last_name, email, version, changed_dtime) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public CustomerHistoryRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+  }
+
+  public void insertAll(List<CustomerChange> changes) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+      ps.setObject(1, change.customerId());
+      ps.setString(2, change.type().name());
+      ps.setString(3, change.firstName());
+      ps.setString(4, change.lastName());
+      ps.setString(5, change.email());
+      ps.setObject(6, change.version());
+      ps.setObject(7, OffsetDateTime.ofInstant(change.changedDtime(), ZoneOffset.UTC));
+    });
+  }
+}
@@ -0,0 +1,144 @@
+package com.metsmarko.lhvcms.history;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes committed customer changes to customer_history in batches on a background thread, so history does not add
+ * to the latency of customer writes. When the queue is full, committing threads wait up to offer timeout for space
+ * and the changes are dropped after that. Queued changes are written before the application shuts down.
+ */
+@Component
+public class CustomerHistoryWriter implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(CustomerHistoryWriter.class);
+
+  private final CustomerHistoryRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final CustomerHistoryProperties properties;
+  private final BlockingQueue<CustomerChange> queue;
+  private final Timer flushTimer;
+  private final Counter droppedCounter;
+  private final Counter failedCounter;
+  private volatile boolean running;
+  private Thread flusher;
+
+  @Autowired
+  public CustomerHistoryWriter(
+      CustomerHistoryRepository repository,
+      PlatformTransactionManager transactionManager,
+      CustomerHistoryProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    this.repository = Objects.requireNonNull(repository);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = Objects.requireNonNull(properties);
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    meterRegistry.gaugeCollectionSize("customer.history.queue.size", Tags.empty(), queue);
+    this.flushTimer = meterRegistry.timer("customer.history.flush");
+    this.droppedCounter = meterRegistry.counter("customer.history.dropped");
+    this.failedCounter = meterRegistry.counter("customer.history.failed");
+  }
+
+  /**
+   * Waits for space at most offer timeout per event, so large batches and imports do not wait per change.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCustomersChanged(CustomersChangedEvent event) throws InterruptedException {
+    long deadline = System.nanoTime() + properties.offerTimeout().toNanos();
+    int dropped = 0;
+    for (CustomerChange change : event.changes()) {
+      if (!queue.offer(change, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+        dropped++;
+      }
+    }
+    if (dropped > 0) {
+      droppedCounter.increment(dropped);
+      log.error("History queue is full, dropped {} of {} customer changes", dropped, event.changes().size());
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    flusher = new Thread(this::flushUntilStopped, "customer-history-flusher");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      flusher.join(properties.shutdownTimeout().toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (!queue.isEmpty()) {
+      log.error("History writer stopped with {} changes not written", queue.size());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Lower than the phase of the web server, so requests have completed when the queue is drained.
+   */
+  @Override
+  public int getPhase() {
+    return 0;
+  }
+
+  private void flushUntilStopped() {
+    List<CustomerChange> batch = new ArrayList<>(properties.batchSize());
+    while (running || !queue.isEmpty()) {
+      try {
+        CustomerChange first = queue.poll(properties.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, properties.batchSize() - 1);
+        flush(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<CustomerChange> batch) {
+    long start = System.nanoTime();
+    try {
+      transactionTemplate.executeWithoutResult(status -> repository.insertAll(batch));
+    } catch (RuntimeException e) {
+      failedCounter.increment(batch.size());
+      log.error("Failed to write {} customer history changes", batch.size(), e);
+    } finally {
+      flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
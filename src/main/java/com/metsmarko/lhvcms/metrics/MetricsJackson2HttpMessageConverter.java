@@ -0,0 +1,30 @@
+package com.metsmarko.lhvcms.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Adds time spent writing JSON response bodies to the serialization phase of the current request.
+ */
+public class MetricsJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  public MetricsJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+      throws IOException, HttpMessageNotWritableException {
+    long start = System.nanoTime();
+    try {
+      super.writeInternal(object, type, outputMessage);
+    } finally {
+      RequestMetrics.addSerializationNanos(System.nanoTime() - start);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.metsmarko.lhvcms.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds time spent in Spring Data repository methods to the database phase of the current request.
+ */
+public class RepositoryTimingPostProcessor implements BeanPostProcessor {
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+      repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+          invocation -> RequestMetrics.addDatabaseNanos(invocation.getDuration(TimeUnit.NANOSECONDS))
+      ));
+    }
+    return bean;
+  }
+}
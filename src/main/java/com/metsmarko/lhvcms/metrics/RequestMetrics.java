@@ -0,0 +1,99 @@
+package com.metsmarko.lhvcms.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Time spent in each phase of a request and number of SQL statements it issued. Bound to the thread that currently
+ * works on the request, only one thread at a time updates it.
+ */
+public final class RequestMetrics {
+  private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+  private final long startNanos = System.nanoTime();
+  private long validationNanos;
+  private long databaseNanos;
+  private long serializationNanos;
+  private int statements;
+
+  RequestMetrics() {
+  }
+
+  static RequestMetrics current() {
+    return CURRENT.get();
+  }
+
+  static void bind(RequestMetrics metrics) {
+    if (metrics == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(metrics);
+    }
+  }
+
+  public static void addValidationNanos(long nanos) {
+    RequestMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.validationNanos += nanos;
+    }
+  }
+
+  public static void addDatabaseNanos(long nanos) {
+    RequestMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.databaseNanos += nanos;
+    }
+  }
+
+  public static void addSerializationNanos(long nanos) {
+    RequestMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.serializationNanos += nanos;
+    }
+  }
+
+  public static void incrementStatements() {
+    RequestMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.statements++;
+    }
+  }
+
+  /**
+   * Returns supplier that updates metrics of the current request when it runs on another thread.
+   */
+  public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+    RequestMetrics metrics = CURRENT.get();
+    if (metrics == null) {
+      return supplier;
+    }
+    return () -> {
+      RequestMetrics previous = CURRENT.get();
+      CURRENT.set(metrics);
+      try {
+        return supplier.get();
+      } finally {
+        bind(previous);
+      }
+    };
+  }
+
+  long elapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  long validationNanos() {
+    return validationNanos;
+  }
+
+  long databaseNanos() {
+    return databaseNanos;
+  }
+
+  long serializationNanos() {
+    return serializationNanos;
+  }
+
+  int statements() {
+    return statements;
+  }
+}
@@ -0,0 +1,125 @@
+package com.metsmarko.lhvcms.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.metsmarko.lhvcms.metrics.StatementBudgetProperties.STATEMENTS_HEADER;
+
+/**
+ * Records duration, outcome, phase durations and SQL statement count of each request, tagged by the controller and
+ * handler method, such as {@code CustomerAsyncController.getCustomerById}. Async requests are recorded once, when
+ * the async dispatch completes. Requests that issue more statements than {@link StatementBudgetProperties} allow are
+ * logged.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+  private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+  static final String OPERATION_METRIC = "customer.operation";
+  static final String PHASE_METRIC = "customer.operation.phase";
+  static final String STATEMENTS_METRIC = "customer.operation.statements";
+  static final String BUDGET_EXCEEDED_METRIC = "customer.operation.statements.budget.exceeded";
+  private static final String METRICS_ATTRIBUTE = RequestMetrics.class.getName();
+
+  private final MeterRegistry registry;
+  private final StatementBudgetProperties statementBudget;
+
+  public RequestMetricsInterceptor(MeterRegistry registry, StatementBudgetProperties statementBudget) {
+    this.registry = Objects.requireNonNull(registry);
+    this.statementBudget = Objects.requireNonNull(statementBudget);
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    RequestMetrics metrics = (RequestMetrics) request.getAttribute(METRICS_ATTRIBUTE);
+    if (metrics == null) {
+      metrics = new RequestMetrics();
+      request.setAttribute(METRICS_ATTRIBUTE, metrics);
+    }
+    RequestMetrics.bind(metrics);
+    return true;
+  }
+
+  @Override
+  public void postHandle(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Object handler,
+      ModelAndView modelAndView
+  ) {
+    // responses without body are not committed yet, StatementCountHeaderAdvice covers the rest
+    RequestMetrics metrics = RequestMetrics.current();
+    if (statementBudget.responseHeader() && metrics != null && !response.isCommitted()) {
+      response.setHeader(STATEMENTS_HEADER, String.valueOf(metrics.statements()));
+    }
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    RequestMetrics.bind(null);
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Object handler,
+      Exception ex
+  ) {
+    RequestMetrics.bind(null);
+    RequestMetrics metrics = (RequestMetrics) request.getAttribute(METRICS_ATTRIBUTE);
+    if (metrics == null || !(handler instanceof HandlerMethod handlerMethod)) {
+      return;
+    }
+    String operation = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    Timer.builder(OPERATION_METRIC)
+        .tag("operation", operation)
+        .tag("outcome", outcome(response.getStatus()))
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(metrics.elapsedNanos(), TimeUnit.NANOSECONDS);
+    recordPhase(operation, "validation", metrics.validationNanos());
+    recordPhase(operation, "database", metrics.databaseNanos());
+    recordPhase(operation, "serialization", metrics.serializationNanos());
+    DistributionSummary.builder(STATEMENTS_METRIC)
+        .tag("operation", operation)
+        .register(registry)
+        .record(metrics.statements());
+    int budget = statementBudget.budgetFor(operation);
+    if (metrics.statements() > budget) {
+      log.warn(
+          "{} {} issued {} SQL statements, budget is {}",
+          request.getMethod(), request.getRequestURI(), metrics.statements(), budget
+      );
+      registry.counter(BUDGET_EXCEEDED_METRIC, "operation", operation).increment();
+    }
+  }
+
+  private void recordPhase(String operation, String phase, long nanos) {
+    Timer.builder(PHASE_METRIC)
+        .tag("operation", operation)
+        .tag("phase", phase)
+        .register(registry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String outcome(int status) {
+    if (status == HttpStatus.BAD_REQUEST.value()) {
+      return "bad_input";
+    }
+    if (status == HttpStatus.NOT_FOUND.value()) {
+      return "not_found";
+    }
+    return status < HttpStatus.BAD_REQUEST.value() ? "ok" : "error";
+  }
+}
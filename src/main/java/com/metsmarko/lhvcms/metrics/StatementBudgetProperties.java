@@ -0,0 +1,28 @@
+package com.metsmarko.lhvcms.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * SQL statements a request may issue before it is logged, per operation (controller and handler method name, such as
+ * {@code CustomerController.getCustomerById}) with a default for the rest. When {@code responseHeader} is enabled,
+ * responses tell the number of statements in {@value #STATEMENTS_HEADER} header.
+ */
+@ConfigurationProperties("lhvcms.statements")
+public record StatementBudgetProperties(
+    @DefaultValue("10") int defaultBudget,
+    Map<String, Integer> budgets,
+    @DefaultValue("false") boolean responseHeader
+) {
+  public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+  public StatementBudgetProperties {
+    budgets = budgets == null ? Map.of() : Map.copyOf(budgets);
+  }
+
+  public int budgetFor(String operation) {
+    return budgets.getOrDefault(operation, defaultBudget);
+  }
+}
@@ -0,0 +1,40 @@
+package com.metsmarko.lhvcms.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import static com.metsmarko.lhvcms.metrics.StatementBudgetProperties.STATEMENTS_HEADER;
+
+/**
+ * Adds statement count header to responses with body, before the body commits the response.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "lhvcms.statements.response-header", havingValue = "true")
+public class StatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response
+  ) {
+    RequestMetrics metrics = RequestMetrics.current();
+    if (metrics != null) {
+      response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(metrics.statements()));
+    }
+    return body;
+  }
+}
@@ -0,0 +1,18 @@
+package com.metsmarko.lhvcms.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps data sources into {@link StatementCountingDataSource}.
+ */
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+      return new StatementCountingDataSource(dataSource);
+    }
+    return bean;
+  }
+}
@@ -0,0 +1,29 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Publishes changes to listeners of {@link CustomerChangesPublishedEvent} in this application.
+ */
+@Component
+@ConditionalOnProperty(name = "lhvcms.customer.outbox.sink", havingValue = "application-event", matchIfMissing = true)
+public class ApplicationEventChangeSink implements CustomerChangeSink {
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public ApplicationEventChangeSink(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = Objects.requireNonNull(eventPublisher);
+  }
+
+  @Override
+  public void publish(List<CustomerChangeDto> changes) {
+    eventPublisher.publishEvent(new CustomerChangesPublishedEvent(changes));
+  }
+}
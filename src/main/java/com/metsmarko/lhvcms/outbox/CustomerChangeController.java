@@ -0,0 +1,37 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChangePageDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import com.metsmarko.lhvcms.swagger.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+
+@RestController
+@RequestMapping("customers/changes")
+@ApiResponse(responseCode = "200", description = "Ok")
+public class CustomerChangeController {
+  private final CustomerChangeService service;
+
+  @Autowired
+  public CustomerChangeController(CustomerChangeService customerChangeService) {
+    this.service = Objects.requireNonNull(customerChangeService);
+  }
+
+  @GetMapping
+  @Operation(summary = "Gets customer changes published after given position, next since continues from the last change")
+  @ApiErrorResponse(responseCode = "400", description = "Invalid since or limit")
+  public ResponseEntity<CustomerChangePageDto> getChanges(
+      @RequestParam(defaultValue = "0") long since,
+      @RequestParam(required = false) Integer limit
+  ) throws BadInputException {
+    return ResponseEntity.ok(service.getChanges(since, limit));
+  }
+}
@@ -0,0 +1,36 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.CustomerListProperties;
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import com.metsmarko.lhvcms.customer.model.CustomerChangePageDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class CustomerChangeService {
+  private final CustomerOutboxRepository repository;
+  private final CustomerListProperties listProperties;
+
+  @Autowired
+  public CustomerChangeService(CustomerOutboxRepository repository, CustomerListProperties listProperties) {
+    this.repository = Objects.requireNonNull(repository);
+    this.listProperties = Objects.requireNonNull(listProperties);
+  }
+
+  public CustomerChangePageDto getChanges(long since, Integer limit) throws BadInputException {
+    if (since < 0) {
+      throw new BadInputException("Since must not be negative");
+    }
+    int pageSize = limit == null ? listProperties.defaultLimit() : limit;
+    if (pageSize < 1 || pageSize > listProperties.maxLimit()) {
+      throw new BadInputException("Limit must be between 1 and %d".formatted(listProperties.maxLimit()));
+    }
+    List<CustomerChangeDto> changes = repository.findPublishedAfter(since, pageSize);
+    long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).position();
+    return new CustomerChangePageDto(changes, nextSince);
+  }
+}
@@ -0,0 +1,14 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of published customer changes. Changes are delivered at least once and in position order, a batch
+ * is published again when publishing fails.
+ */
+public interface CustomerChangeSink {
+  void publish(List<CustomerChangeDto> changes) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+
+import java.util.List;
+
+public record CustomerChangesPublishedEvent(List<CustomerChangeDto> changes) {
+}
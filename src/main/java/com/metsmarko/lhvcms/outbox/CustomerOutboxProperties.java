@@ -0,0 +1,20 @@
+package com.metsmarko.lhvcms.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Relay is disabled by default and should be enabled on one application instance only, sinks such as files are local
+ * to the instance.
+ */
+@ConfigurationProperties("lhvcms.customer.outbox")
+public record CustomerOutboxProperties(
+    @DefaultValue("false") boolean relayEnabled,
+    @DefaultValue("1s") Duration relayInterval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("application-event") String sink,
+    @DefaultValue("build/customer-changes.ndjson") String sinkFile
+) {
+}
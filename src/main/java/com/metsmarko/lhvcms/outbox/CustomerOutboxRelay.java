@@ -0,0 +1,129 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox changes to {@link CustomerChangeSink} in batches. Each batch is read, published and given
+ * positions in one transaction, so a batch that fails to publish stays in the outbox and is published again.
+ * Batches are locked while they are published, so relays accidentally enabled on several instances take turns
+ * instead of publishing changes twice.
+ */
+@Component
+public class CustomerOutboxRelay implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(CustomerOutboxRelay.class);
+
+  private final CustomerOutboxRepository repository;
+  private final CustomerChangeSink sink;
+  private final TransactionTemplate transactionTemplate;
+  private final CustomerOutboxProperties properties;
+  private final Counter publishedCounter;
+  private ScheduledExecutorService executor;
+
+  @Autowired
+  public CustomerOutboxRelay(
+      CustomerOutboxRepository repository,
+      CustomerChangeSink sink,
+      PlatformTransactionManager transactionManager,
+      CustomerOutboxProperties properties,
+      MeterRegistry meterRegistry
+  ) {
+    this.repository = Objects.requireNonNull(repository);
+    this.sink = Objects.requireNonNull(sink);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = Objects.requireNonNull(properties);
+    this.publishedCounter = meterRegistry.counter("customer.outbox.published");
+  }
+
+  /**
+   * Publishes batches until the outbox has no unpublished changes, returns number of published changes.
+   */
+  public int relay() {
+    int published = 0;
+    int batchSize;
+    do {
+      batchSize = Objects.requireNonNull(transactionTemplate.execute(status -> relayBatch()));
+      published += batchSize;
+    } while (batchSize == properties.batchSize());
+    return published;
+  }
+
+  @Override
+  public void start() {
+    if (!properties.relayEnabled()) {
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "customer-outbox-relay"));
+    long intervalMillis = properties.relayInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::relayAndLogFailure, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(properties.relayInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executor = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  private void relayAndLogFailure() {
+    try {
+      relay();
+    } catch (RuntimeException e) {
+      log.error("Failed to relay customer changes", e);
+    }
+  }
+
+  private int relayBatch() {
+    // locks the batch, a relay of another instance waits here until this batch is committed
+    List<UnpublishedChange> unpublished = repository.findUnpublished(properties.batchSize());
+    if (unpublished.isEmpty()) {
+      return 0;
+    }
+    long firstPosition = repository.maxPosition() + 1;
+    List<CustomerChangeDto> changes = new ArrayList<>(unpublished.size());
+    List<Long> ids = new ArrayList<>(unpublished.size());
+    for (int i = 0; i < unpublished.size(); i++) {
+      ids.add(unpublished.get(i).outboxId());
+      changes.add(CustomerChangeDto.of(firstPosition + i, unpublished.get(i).change()));
+    }
+    if (!repository.assignPositions(ids, firstPosition)) {
+      throw new IllegalStateException("Outbox changes were published by another relay");
+    }
+    try {
+      sink.publish(changes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    publishedCounter.increment(changes.size());
+    return changes.size();
+  }
+}
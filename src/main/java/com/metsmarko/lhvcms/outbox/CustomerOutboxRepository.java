@@ -0,0 +1,103 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Repository
+public class CustomerOutboxRepository {
+  private static final String COLUMNS = "customer_id, change_type, first_name, last_name, email, version, changed_dtime";
+  private static final String INSERT_SQL = "INSERT INTO customer_outbox (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+  private static final String SELECT_UNPUBLISHED_SQL = "SELECT id, " + COLUMNS + " FROM customer_outbox WHERE published_position IS NULL ORDER BY id LIMIT ? FOR UPDATE";
+  private static final String MAX_POSITION_SQL = "SELECT COALESCE(MAX(published_position), 0) FROM customer_outbox";
+  private static final String SET_POSITION_SQL = "UPDATE customer_outbox SET published_position = ? WHERE id = ? AND published_position IS NULL";
+  private static final String SELECT_PUBLISHED_SQL = "SELECT published_position, " + COLUMNS + " FROM customer_outbox WHERE published_position > ? ORDER BY published_position LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public CustomerOutboxRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+  }
+
+  public void insertAll(List<CustomerChange> changes) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+      ps.setObject(1, change.customerId());
+      ps.setString(2, change.type().name());
+      ps.setString(3, change.firstName());
+      ps.setString(4, change.lastName());
+      ps.setString(5, change.email());
+      ps.setObject(6, change.version());
+      ps.setObject(7, OffsetDateTime.ofInstant(change.changedDtime(), ZoneOffset.UTC));
+    });
+  }
+
+  /**
+   * Returns unpublished changes in the order they were written and locks them until the end of the transaction, so
+   * relays of other instances wait instead of publishing the same changes.
+   */
+  public List<UnpublishedChange> findUnpublished(int limit) {
+    return jdbcTemplate.query(
+        SELECT_UNPUBLISHED_SQL,
+        (rs, i) -> new UnpublishedChange(rs.getLong("id"), toChange(rs)),
+        limit
+    );
+  }
+
+  public long maxPosition() {
+    return Objects.requireNonNull(jdbcTemplate.queryForObject(MAX_POSITION_SQL, Long.class));
+  }
+
+  /**
+   * Assigns consecutive positions starting from given position to outbox rows with given ids, returns false when some
+   * of the rows already had a position.
+   */
+  public boolean assignPositions(List<Long> ids, long firstPosition) {
+    int[] counts = jdbcTemplate.batchUpdate(SET_POSITION_SQL, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(PreparedStatement ps, int i) throws SQLException {
+        ps.setLong(1, firstPosition + i);
+        ps.setLong(2, ids.get(i));
+      }
+
+      @Override
+      public int getBatchSize() {
+        return ids.size();
+      }
+    });
+    return Arrays.stream(counts).noneMatch(count -> count == 0);
+  }
+
+  public List<CustomerChangeDto> findPublishedAfter(long position, int limit) {
+    return jdbcTemplate.query(SELECT_PUBLISHED_SQL, (rs, i) -> toDto(rs.getLong("published_position"), rs), position, limit);
+  }
+
+  private static CustomerChangeDto toDto(long position, ResultSet rs) throws SQLException {
+    return CustomerChangeDto.of(position, toChange(rs));
+  }
+
+  private static CustomerChange toChange(ResultSet rs) throws SQLException {
+    return new CustomerChange(
+        rs.getObject("customer_id", UUID.class),
+        CustomerChange.Type.valueOf(rs.getString("change_type")),
+        rs.getString("first_name"),
+        rs.getString("last_name"),
+        rs.getString("email"),
+        rs.getObject("version", Long.class),
+        rs.getObject("changed_dtime", OffsetDateTime.class).toInstant()
+    );
+  }
+}
@@ -0,0 +1,26 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Writes customer changes to the outbox in the transaction that changes the customers.
+ */
+@Component
+public class CustomerOutboxWriter {
+  private final CustomerOutboxRepository repository;
+
+  @Autowired
+  public CustomerOutboxWriter(CustomerOutboxRepository repository) {
+    this.repository = Objects.requireNonNull(repository);
+  }
+
+  @EventListener
+  public void onCustomersChanged(CustomersChangedEvent event) {
+    repository.insertAll(event.changes());
+  }
+}
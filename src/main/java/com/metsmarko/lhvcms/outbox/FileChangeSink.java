@@ -0,0 +1,43 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends changes to a newline delimited JSON file, meant for local use.
+ */
+@Component
+@ConditionalOnProperty(name = "lhvcms.customer.outbox.sink", havingValue = "file")
+public class FileChangeSink implements CustomerChangeSink {
+  private final ObjectWriter changeWriter;
+  private final Path file;
+
+  @Autowired
+  public FileChangeSink(ObjectMapper objectMapper, CustomerOutboxProperties properties) {
+    this.changeWriter = objectMapper.writerFor(CustomerChangeDto.class);
+    this.file = Path.of(properties.sinkFile());
+  }
+
+  @Override
+  public void publish(List<CustomerChangeDto> changes) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      for (CustomerChangeDto change : changes) {
+        out.write(changeWriter.writeValueAsBytes(change));
+        out.write('\n');
+      }
+    }
+  }
+}
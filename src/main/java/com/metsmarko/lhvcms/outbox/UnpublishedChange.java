@@ -0,0 +1,12 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+
+/**
+ * Outbox row that has not been given a position yet.
+ */
+public record UnpublishedChange(
+    long outboxId,
+    CustomerChange change
+) {
+}
@@ -0,0 +1,39 @@
+package com.metsmarko.lhvcms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CborConfigTest {
+
+  private final ObjectMapper cborObjectMapper = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+  private final ObjectMapper jsonObjectMapper = Jackson2ObjectMapperBuilder.json()
+      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+
+  @Test
+  void testSubMillisecondInstantsRoundTrip() throws Exception {
+    CustomerDto customer = new CustomerDto(
+        UUID.randomUUID(),
+        "first",
+        "last",
+        "email@email.com",
+        Instant.ofEpochSecond(1_700_000_000L, 123_456_000),
+        Instant.ofEpochSecond(1_700_000_001L, 987_654_321),
+        1
+    );
+
+    CustomerDto cborCustomer = cborObjectMapper.readValue(cborObjectMapper.writeValueAsBytes(customer), CustomerDto.class);
+    CustomerDto jsonCustomer = jsonObjectMapper.readValue(jsonObjectMapper.writeValueAsBytes(customer), CustomerDto.class);
+
+    assertEquals(customer, cborCustomer);
+    assertEquals(jsonCustomer, cborCustomer);
+  }
+}
@@ -0,0 +1,116 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerImportResultDto;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerImportServiceTest {
+
+  private final CustomerRepository repository = mock(CustomerRepository.class);
+  private final CustomerImportService service;
+
+  CustomerImportServiceTest() {
+    try (var factory = Validation.buildDefaultValidatorFactory()) {
+      service = new CustomerImportService(
+          repository,
+          new CustomerValidator(factory.getValidator()),
+          new ObjectMapper(),
+          mock(PlatformTransactionManager.class),
+          new CustomerImportProperties(2, 1),
+          mock(ApplicationEventPublisher.class)
+      );
+    }
+  }
+
+  @Test
+  void testImportCustomers() throws Exception {
+    String input = """
+        {"firstName": "first1", "lastName": "last1", "email": "email1@email.com"}
+        {"firstName": "first2", "lastName": "last2", "email": "email2@email.com"}
+
+        {"firstName": "first3", "lastName": "last3", "email": "invalid"}
+        {"firstName": "first4", "lastName": "last4", "email": "email4@email.com"}
+        not json
+        """;
+
+    CustomerImportResultDto result = service.importCustomers(
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))
+    );
+
+    verify(repository).insertAll(List.of(
+        new CreateOrUpdateCustomerDto("first1", "last1", "email1@email.com"),
+        new CreateOrUpdateCustomerDto("first2", "last2", "email2@email.com")
+    ));
+    verify(repository).insertAll(List.of(new CreateOrUpdateCustomerDto("first4", "last4", "email4@email.com")));
+    verify(repository, times(2)).insertAll(any());
+    assertEquals(6, result.lines());
+    assertEquals(3, result.imported());
+    assertEquals(2, result.failed());
+    assertEquals(List.of(new CustomerImportResultDto.LineError(4, "Email must have valid format")), result.errors());
+    assertTrue(result.errorsTruncated());
+  }
+
+  @Test
+  void testImportCustomers_DuplicateEmail() throws Exception {
+    String input = """
+        {"firstName": "first1", "lastName": "last1", "email": "email1@email.com"}
+        {"firstName": "first2", "lastName": "last2", "email": "email2@email.com"}
+        {"firstName": "first3", "lastName": "last3", "email": "email3@email.com"}
+        {"firstName": "first4", "lastName": "last4", "email": "email4@email.com"}
+        """;
+    CreateOrUpdateCustomerDto customer3 = new CreateOrUpdateCustomerDto("first3", "last3", "email3@email.com");
+    CreateOrUpdateCustomerDto customer4 = new CreateOrUpdateCustomerDto("first4", "last4", "email4@email.com");
+    DuplicateKeyException duplicateEmail = new DuplicateKeyException(
+        "insert failed", new SQLException("duplicate key value violates unique constraint \"customer_email_uidx\"")
+    );
+    when(repository.findIdsByEmails(List.of("email1@email.com", "email2@email.com")))
+        .thenReturn(Map.of("email1@email.com", UUID.randomUUID()));
+    // email4 is taken concurrently after emails of the chunk were checked
+    when(repository.insertAll(List.of(customer3, customer4))).thenThrow(duplicateEmail);
+    when(repository.insertAll(List.of(customer4))).thenThrow(duplicateEmail);
+
+    CustomerImportResultDto result = service.importCustomers(
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))
+    );
+
+    verify(repository).insertAll(List.of(new CreateOrUpdateCustomerDto("first2", "last2", "email2@email.com")));
+    verify(repository).insertAll(List.of(customer3));
+    assertEquals(2, result.imported());
+    assertEquals(2, result.failed());
+    assertEquals(
+        List.of(new CustomerImportResultDto.LineError(1, "Customer with given email already exists")),
+        result.errors()
+    );
+  }
+
+  @Test
+  void testImportCustomers_Empty() throws Exception {
+    CustomerImportResultDto result = service.importCustomers(new ByteArrayInputStream(new byte[0]));
+
+    verify(repository, times(0)).insertAll(any());
+    assertEquals(0, result.lines());
+    assertEquals(0, result.imported());
+    assertFalse(result.errorsTruncated());
+  }
+}
@@ -0,0 +1,81 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerLookupResultDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.metsmarko.lhvcms.customer.CustomerService.CUSTOMERS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerLookupServiceTest {
+
+  private final CustomerRepository repository = mock(CustomerRepository.class);
+  private final CustomerCache cache = new CustomerCache(new ConcurrentMapCacheManager(CUSTOMERS_CACHE));
+  private final CustomerLookupService service = new CustomerLookupService(
+      repository, cache, new CustomerLookupProperties(4, 2)
+  );
+
+  @Test
+  void testLookupCustomers() throws Exception {
+    CustomerDto cached = customer();
+    CustomerDto customer1 = customer();
+    CustomerDto customer2 = customer();
+    UUID missingId = UUID.randomUUID();
+    cache.put(cached);
+    when(repository.findDtosByIdIn(List.of(customer2.id(), missingId))).thenReturn(List.of(customer2));
+    when(repository.findDtosByIdIn(List.of(customer1.id()))).thenReturn(List.of(customer1));
+
+    CustomerLookupResultDto result = service.lookupCustomers(
+        List.of(customer2.id(), missingId, cached.id(), customer1.id())
+    );
+
+    assertEquals(List.of(customer2, cached, customer1), result.customers());
+    assertEquals(List.of(missingId), result.missing());
+    verify(repository, times(2)).findDtosByIdIn(any());
+    assertEquals(customer1, cache.get(customer1.id()));
+    assertEquals(customer2, cache.get(customer2.id()));
+  }
+
+  @Test
+  void testLookupCustomers_RepeatedIds() throws Exception {
+    CustomerDto customer = customer();
+    when(repository.findDtosByIdIn(List.of(customer.id()))).thenReturn(List.of(customer));
+
+    CustomerLookupResultDto result = service.lookupCustomers(
+        List.of(customer.id(), customer.id(), customer.id(), customer.id())
+    );
+
+    assertEquals(new CustomerLookupResultDto(List.of(customer), List.of()), result);
+    verify(repository).findDtosByIdIn(any());
+  }
+
+  @Test
+  void testLookupCustomers_BadInput() {
+    BadInputException e = assertThrows(BadInputException.class, () -> service.lookupCustomers(List.of()));
+    assertEquals("Lookup must contain between 1 and 4 ids", e.getMessage());
+    e = assertThrows(BadInputException.class, () -> service.lookupCustomers(Collections.nCopies(5, UUID.randomUUID())));
+    assertEquals("Lookup must contain between 1 and 4 ids", e.getMessage());
+    e = assertThrows(BadInputException.class, () -> service.lookupCustomers(Arrays.asList(UUID.randomUUID(), null)));
+    assertEquals("Id must not be empty", e.getMessage());
+    verify(repository, times(0)).findDtosByIdIn(any());
+  }
+
+  private static CustomerDto customer() {
+    Instant now = Instant.now();
+    return new CustomerDto(UUID.randomUUID(), "first", "last", "email@email.com", now, now, 0);
+  }
+}
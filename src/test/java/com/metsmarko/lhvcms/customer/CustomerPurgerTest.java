@@ -0,0 +1,44 @@
+package com.metsmarko.lhvcms.customer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class CustomerPurgerTest {
+
+  @Test
+  void testStartsOnlyWithSoftDeletes() {
+    CustomerPurger hardDeletePurger = purger(false, true);
+    CustomerPurger disabledPurger = purger(true, false);
+    CustomerPurger softDeletePurger = purger(true, true);
+
+    hardDeletePurger.start();
+    disabledPurger.start();
+    softDeletePurger.start();
+
+    assertFalse(hardDeletePurger.isAutoStartup());
+    assertFalse(hardDeletePurger.isRunning());
+    assertFalse(disabledPurger.isAutoStartup());
+    assertFalse(disabledPurger.isRunning());
+    assertTrue(softDeletePurger.isAutoStartup());
+    assertTrue(softDeletePurger.isRunning());
+    softDeletePurger.stop();
+  }
+
+  private static CustomerPurger purger(boolean soft, boolean purgeEnabled) {
+    return new CustomerPurger(
+        mock(CustomerRepository.class),
+        mock(PlatformTransactionManager.class),
+        new CustomerDeleteProperties(
+            soft, purgeEnabled, Duration.ZERO, Duration.ofMinutes(1), 500, Duration.ofMillis(100)
+        ),
+        new SimpleMeterRegistry()
+    );
+  }
+}
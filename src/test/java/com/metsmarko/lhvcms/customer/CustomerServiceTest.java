@@ -1,25 +1,45 @@
 package com.metsmarko.lhvcms.customer;
 
+import com.metsmarko.lhvcms.customer.model.BatchCustomerItemDto;
+import com.metsmarko.lhvcms.customer.model.BatchCustomerResultDto;
 import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomerCursor;
+import com.metsmarko.lhvcms.customer.model.CustomerDeleteResultDto;
 import com.metsmarko.lhvcms.customer.model.CustomerDto;
 import com.metsmarko.lhvcms.customer.model.CustomerEntity;
+import com.metsmarko.lhvcms.customer.model.CustomerPageDto;
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
 import com.metsmarko.lhvcms.exception.BadInputException;
+import com.metsmarko.lhvcms.exception.PreconditionFailedException;
 import jakarta.validation.Validation;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,15 +51,21 @@ class CustomerServiceTest {
       StringUtils.repeat("b", 63),
       StringUtils.repeat("b", 60)
   );
+  private static final int MAX_BATCH_SIZE = 5;
+  private static final int MAX_LIMIT = 10;
   private final CustomerRepository repository = mock(CustomerRepository.class);
+  private final CustomerCache cache = mock(CustomerCache.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
   private final CustomerService service;
+  private final CustomerService softDeleteService;
   private final CustomerEntity entity = new CustomerEntity(
       UUID.randomUUID(),
       "first",
       "last",
       "e@mail.com",
       Instant.now(),
-      Instant.now()
+      Instant.now(),
+      1
   );
   private final Map<CreateOrUpdateCustomerDto, String> badInputCases = Map.of(
       new CreateOrUpdateCustomerDto(StringUtils.repeat("a", 256), "last", "e@mail.com"),
@@ -60,7 +86,14 @@ class CustomerServiceTest {
 
   CustomerServiceTest() {
     try (var factory = Validation.buildDefaultValidatorFactory()) {
-      service = new CustomerService(repository, factory.getValidator());
+      service = new CustomerService(
+          repository, new CustomerValidator(factory.getValidator()), cache, new CustomerBatchProperties(MAX_BATCH_SIZE, 500),
+          new CustomerListProperties(1, MAX_LIMIT), deleteProperties(false), eventPublisher
+      );
+      softDeleteService = new CustomerService(
+          repository, new CustomerValidator(factory.getValidator()), cache, new CustomerBatchProperties(MAX_BATCH_SIZE, 500),
+          new CustomerListProperties(1, MAX_LIMIT), deleteProperties(true), eventPublisher
+      );
     }
   }
 
@@ -79,7 +112,8 @@ class CustomerServiceTest {
         newCustomer.lastName(),
         newCustomer.email(),
         createdDtime,
-        createdDtime
+        createdDtime,
+        0
     );
     when(repository.save(newEntity)).thenReturn(savedEntity);
 
@@ -115,31 +149,81 @@ class CustomerServiceTest {
     assertEquals(entity.modifiedDtime(), customer.modifiedDtime());
   }
 
+  @Test
+  void testGetCustomers() throws Exception {
+    CustomerEntity nextEntity = new CustomerEntity(
+        UUID.randomUUID(), "first2", "last2", "e2@mail.com", Instant.now(), Instant.now(), 0
+    );
+    when(repository.findFirstPage(PageRequest.ofSize(2))).thenReturn(List.of(entity, nextEntity));
+    when(repository.findPageAfter(entity.createdDtime(), entity.id(), PageRequest.ofSize(2)))
+        .thenReturn(List.of(nextEntity));
+
+    CustomerPageDto firstPage = service.getCustomers(null, null);
+    CustomerPageDto lastPage = service.getCustomers(firstPage.nextCursor(), null);
+
+    assertEquals(List.of(entity.toDto()), firstPage.customers());
+    assertEquals(CustomerCursor.of(entity.toDto()), CustomerCursor.decode(firstPage.nextCursor()));
+    assertEquals(List.of(nextEntity.toDto()), lastPage.customers());
+    assertNull(lastPage.nextCursor());
+  }
+
+  @Test
+  void testGetCustomers_BadInput() {
+    assertEquals(
+        "Limit must be between 1 and 10",
+        assertThrows(BadInputException.class, () -> service.getCustomers(null, 0)).getMessage()
+    );
+    assertEquals(
+        "Limit must be between 1 and 10",
+        assertThrows(BadInputException.class, () -> service.getCustomers(null, MAX_LIMIT + 1)).getMessage()
+    );
+    assertEquals(
+        "Invalid cursor",
+        assertThrows(BadInputException.class, () -> service.getCustomers("invalid", null)).getMessage()
+    );
+  }
+
+  @Test
+  void testSearchCustomers() throws Exception {
+    when(repository.findByEmail(entity.email())).thenReturn(Optional.of(entity));
+    when(repository.findByLastNameStartingWithIgnoreCaseAndFirstNameStartingWithIgnoreCase(
+        "la", "", PageRequest.of(0, 1, Sort.by("lastName", "firstName", "id"))
+    )).thenReturn(List.of(entity));
+
+    assertEquals(List.of(entity.toDto()), service.searchCustomers(entity.email(), null, null, null));
+    assertEquals(List.of(), service.searchCustomers("missing@mail.com", null, null, null));
+    assertEquals(List.of(entity.toDto()), service.searchCustomers(null, "la", null, null));
+  }
+
+  @Test
+  void testSearchCustomers_BadInput() {
+    assertEquals(
+        "Search by email can not be combined with search by name",
+        assertThrows(BadInputException.class, () -> service.searchCustomers("e@mail.com", "la", null, null))
+            .getMessage()
+    );
+    assertEquals(
+        "Email, last name or first name must not be empty",
+        assertThrows(BadInputException.class, () -> service.searchCustomers(null, "", null, null)).getMessage()
+    );
+  }
+
   @Test
   void testUpdateCustomer() throws Exception {
     CreateOrUpdateCustomerDto updatedCustomerDto = new CreateOrUpdateCustomerDto("f", "l", "email@e.com");
     CustomerEntity updatedEntity = new CustomerEntity(
         entity.id(), updatedCustomerDto.firstName(), updatedCustomerDto.lastName(), updatedCustomerDto.email(),
-        entity.createdDtime(), Instant.now()
+        entity.createdDtime(), Instant.now(), entity.version() + 1
     );
-    when(repository.findById(entity.id())).thenReturn(Optional.of(entity));
-    when(repository.save(any())).thenReturn(updatedEntity);
+    when(repository.updateReturning(entity.id(), null, updatedCustomerDto)).thenReturn(Optional.of(updatedEntity));
 
     Optional<CustomerDto> customerById = service.updateCustomer(
-        entity.id(), updatedCustomerDto
+        entity.id(), null, updatedCustomerDto
     );
 
-    verify(repository).save(argThat(ce -> {
-      assertEquals(entity.id(), ce.id());
-      assertEquals(updatedCustomerDto.firstName(), ce.firstName());
-      assertEquals(updatedCustomerDto.lastName(), ce.lastName());
-      assertEquals(updatedCustomerDto.email(), ce.email());
-      assertEquals(entity.createdDtime(), ce.createdDtime());
-      assertNotEquals(entity.modifiedDtime(), ce.modifiedDtime());
-      assertTrue(ce.modifiedDtime().isAfter(entity.modifiedDtime()));
-      return true;
-    }));
-
+    verify(repository).updateReturning(entity.id(), null, updatedCustomerDto);
+    verify(repository, never()).findById(any());
+    verify(repository, never()).save(any());
     assertTrue(customerById.isPresent());
     CustomerDto customer = customerById.get();
     assertEquals(entity.id(), customer.id());
@@ -147,6 +231,27 @@ class CustomerServiceTest {
     assertEquals(updatedCustomerDto.lastName(), customer.lastName());
     assertEquals(updatedCustomerDto.email(), customer.email());
     assertEquals(entity.createdDtime(), customer.createdDtime());
+    assertEquals(updatedEntity.modifiedDtime(), customer.modifiedDtime());
+    assertEquals(entity.version() + 1, customer.version());
+  }
+
+  @Test
+  void testUpdateCustomer_DoesNotExist() throws Exception {
+    CreateOrUpdateCustomerDto updatedCustomerDto = new CreateOrUpdateCustomerDto("f", "l", "email@e.com");
+    when(repository.updateReturning(entity.id(), null, updatedCustomerDto)).thenReturn(Optional.empty());
+
+    assertTrue(service.updateCustomer(entity.id(), null, updatedCustomerDto).isEmpty());
+  }
+
+  @Test
+  void testUpdateCustomer_VersionMismatch() {
+    CreateOrUpdateCustomerDto updatedCustomerDto = new CreateOrUpdateCustomerDto("f", "l", "email@e.com");
+    when(repository.updateReturning(entity.id(), 0L, updatedCustomerDto)).thenReturn(Optional.empty());
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> service.updateCustomer(entity.id(), 0L, updatedCustomerDto)
+    );
   }
 
   @Test
@@ -156,9 +261,187 @@ class CustomerServiceTest {
 
   @Test
   void testDeleteCustomer() {
-    service.deleteCustomerById(entity.id());
+    Instant deletedDtime = Instant.now();
+    when(repository.deleteDirectlyById(entity.id())).thenReturn(1);
+    when(repository.currentTimestamp()).thenReturn(deletedDtime);
+
+    service.deleteCustomerById(entity.id(), null);
+
+    verify(repository).deleteDirectlyById(entity.id());
+    verify(eventPublisher).publishEvent(CustomersChangedEvent.of(CustomerChange.deleted(entity.id(), deletedDtime)));
+  }
+
+  @Test
+  void testDeleteCustomer_DoesNotExist() {
+    service.deleteCustomerById(entity.id(), null);
+
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void testDeleteCustomer_WithVersion() {
+    when(repository.deleteByIdAndVersion(entity.id(), entity.version())).thenReturn(1);
+    when(repository.deleteByIdAndVersion(entity.id(), 0L)).thenReturn(0);
+
+    service.deleteCustomerById(entity.id(), entity.version());
+    assertThrows(PreconditionFailedException.class, () -> service.deleteCustomerById(entity.id(), 0L));
+
+    verify(repository, never()).deleteDirectlyById(any());
+  }
 
-    verify(repository).deleteById(entity.id());
+  @Test
+  void testDeleteCustomer_Soft() {
+    when(repository.softDeleteById(entity.id())).thenReturn(1);
+    when(repository.softDeleteByIdAndVersion(entity.id(), 0L)).thenReturn(0);
+
+    softDeleteService.deleteCustomerById(entity.id(), null);
+    assertThrows(PreconditionFailedException.class, () -> softDeleteService.deleteCustomerById(entity.id(), 0L));
+
+    verify(repository, never()).deleteDirectlyById(any());
+    verify(repository, never()).deleteByIdAndVersion(any(), anyLong());
+    verify(eventPublisher).publishEvent(any(CustomersChangedEvent.class));
+  }
+
+  @Test
+  void testDeleteCustomers() throws Exception {
+    UUID missingId = UUID.randomUUID();
+    UUID deletedId = UUID.randomUUID();
+    when(repository.deleteAll(new LinkedHashSet<>(List.of(missingId, entity.id(), deletedId)), false))
+        .thenReturn(List.of(deletedId, entity.id()));
+
+    CustomerDeleteResultDto result = service.deleteCustomers(List.of(missingId, entity.id(), deletedId, missingId));
+
+    assertEquals(new CustomerDeleteResultDto(List.of(entity.id(), deletedId), List.of(missingId)), result);
+    verify(cache).evictAfterCommit(List.of(entity.id(), deletedId));
+    verify(eventPublisher).publishEvent(any(CustomersChangedEvent.class));
+  }
+
+  @Test
+  void testDeleteCustomers_Soft() throws Exception {
+    when(repository.deleteAll(Set.of(entity.id()), true)).thenReturn(List.of());
+
+    CustomerDeleteResultDto result = softDeleteService.deleteCustomers(List.of(entity.id()));
+
+    assertEquals(new CustomerDeleteResultDto(List.of(), List.of(entity.id())), result);
+    verify(repository, times(1)).deleteAll(any(), anyBoolean());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void testDeleteCustomers_BadInput() {
+    BadInputException emptyEx = assertThrows(BadInputException.class, () -> service.deleteCustomers(List.of()));
+    BadInputException tooLargeEx = assertThrows(
+        BadInputException.class,
+        () -> service.deleteCustomers(Collections.nCopies(MAX_BATCH_SIZE + 1, entity.id()))
+    );
+    BadInputException nullEx = assertThrows(
+        BadInputException.class,
+        () -> service.deleteCustomers(Arrays.asList(entity.id(), null))
+    );
+
+    assertEquals("Batch must contain between 1 and 5 customers", emptyEx.getMessage());
+    assertEquals("Batch must contain between 1 and 5 customers", tooLargeEx.getMessage());
+    assertEquals("Id must not be empty", nullEx.getMessage());
+    verify(repository, never()).deleteAll(any(), anyBoolean());
+  }
+
+  @Test
+  void testUpsertCustomers() throws Exception {
+    CreateOrUpdateCustomerDto newCustomer = new CreateOrUpdateCustomerDto("new", "customer", "new@mail.com");
+    CreateOrUpdateCustomerDto updatedCustomer = new CreateOrUpdateCustomerDto("f", "l", "email@e.com");
+    CreateOrUpdateCustomerDto missingCustomer = new CreateOrUpdateCustomerDto("f", "l", "missing@e.com");
+    UUID missingId = UUID.randomUUID();
+    Instant now = Instant.now();
+    CustomerEntity insertedEntity = new CustomerEntity(
+        UUID.randomUUID(), newCustomer.firstName(), newCustomer.lastName(), newCustomer.email(), now, now, 0
+    );
+    CustomerEntity updatedEntity = new CustomerEntity(
+        entity.id(), updatedCustomer.firstName(), updatedCustomer.lastName(), updatedCustomer.email(),
+        entity.createdDtime(), now, entity.version() + 1
+    );
+    when(repository.insertAll(List.of(newCustomer))).thenReturn(List.of(insertedEntity));
+    when(repository.updateAll(Map.of(entity.id(), updatedCustomer, missingId, missingCustomer)))
+        .thenReturn(new CustomerJdbcRepository.UpdateAllResult(Map.of(entity.id(), updatedEntity), Set.of()));
+
+    List<BatchCustomerResultDto> results = service.upsertCustomers(List.of(
+        new BatchCustomerItemDto(entity.id(), updatedCustomer),
+        new BatchCustomerItemDto(null, new CreateOrUpdateCustomerDto("", "last", "e@mail.com")),
+        new BatchCustomerItemDto(null, newCustomer),
+        new BatchCustomerItemDto(missingId, missingCustomer),
+        new BatchCustomerItemDto(entity.id(), updatedCustomer)
+    ));
+
+    assertEquals(
+        List.of(
+            BatchCustomerResultDto.ok(0, BatchCustomerResultDto.Status.UPDATED, updatedEntity.toDto()),
+            BatchCustomerResultDto.failed(
+                1, BatchCustomerResultDto.Status.BAD_INPUT, "First name must be between 1 and 255 characters"
+            ),
+            BatchCustomerResultDto.ok(2, BatchCustomerResultDto.Status.CREATED, insertedEntity.toDto()),
+            BatchCustomerResultDto.failed(3, BatchCustomerResultDto.Status.NOT_FOUND, "Customer not found"),
+            BatchCustomerResultDto.failed(
+                4, BatchCustomerResultDto.Status.BAD_INPUT, "Customer is already present in batch"
+            )
+        ),
+        results
+    );
+    verify(cache).evictAfterCommit(Set.of(entity.id()));
+  }
+
+  @Test
+  void testUpsertCustomers_ConcurrentlyModified() throws Exception {
+    CreateOrUpdateCustomerDto customer = new CreateOrUpdateCustomerDto("f", "l", "modified@e.com");
+    when(repository.updateAll(Map.of(entity.id(), customer)))
+        .thenReturn(new CustomerJdbcRepository.UpdateAllResult(Map.of(), Set.of(entity.id())));
+
+    List<BatchCustomerResultDto> results = service.upsertCustomers(List.of(new BatchCustomerItemDto(entity.id(), customer)));
+
+    assertEquals(
+        List.of(BatchCustomerResultDto.failed(
+            0, BatchCustomerResultDto.Status.MODIFIED, "Customer has been modified or deleted"
+        )),
+        results
+    );
+    verify(cache).evictAfterCommit(Set.of());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void testUpsertCustomers_DuplicateEmail() throws Exception {
+    CreateOrUpdateCustomerDto takenEmail = new CreateOrUpdateCustomerDto("f", "l", entity.email());
+    CreateOrUpdateCustomerDto newEmail = new CreateOrUpdateCustomerDto("f", "l", "new@mail.com");
+    when(repository.findIdsByEmails(List.of(entity.email(), entity.email(), newEmail.email(), newEmail.email())))
+        .thenReturn(Map.of(entity.email(), entity.id()));
+    when(repository.updateAll(any())).thenReturn(new CustomerJdbcRepository.UpdateAllResult(Map.of(), Set.of()));
+
+    List<BatchCustomerResultDto> results = service.upsertCustomers(List.of(
+        new BatchCustomerItemDto(null, takenEmail),
+        new BatchCustomerItemDto(entity.id(), takenEmail),
+        new BatchCustomerItemDto(null, newEmail),
+        new BatchCustomerItemDto(null, newEmail)
+    ));
+
+    assertEquals(BatchCustomerResultDto.Status.CONFLICT, results.get(0).status());
+    assertEquals("Customer with given email already exists", results.get(0).error());
+    assertEquals(BatchCustomerResultDto.Status.NOT_FOUND, results.get(1).status());
+    assertEquals(BatchCustomerResultDto.Status.CONFLICT, results.get(3).status());
+    assertEquals("Email is already present in batch", results.get(3).error());
+    verify(repository).insertAll(List.of(newEmail));
+    verify(repository).updateAll(Map.of(entity.id(), takenEmail));
+  }
+
+  @Test
+  void testUpsertCustomers_BadBatchSize() {
+    BatchCustomerItemDto item = new BatchCustomerItemDto(null, new CreateOrUpdateCustomerDto("f", "l", "e@mail.com"));
+
+    BadInputException emptyEx = assertThrows(BadInputException.class, () -> service.upsertCustomers(List.of()));
+    BadInputException tooLargeEx = assertThrows(
+        BadInputException.class,
+        () -> service.upsertCustomers(Collections.nCopies(MAX_BATCH_SIZE + 1, item))
+    );
+
+    assertEquals("Batch must contain between 1 and 5 customers", emptyEx.getMessage());
+    assertEquals("Batch must contain between 1 and 5 customers", tooLargeEx.getMessage());
   }
 
   private void assertBadInputOnInsert(CreateOrUpdateCustomerDto dto, String expectedError) {
@@ -167,7 +450,14 @@ class CustomerServiceTest {
   }
 
   private void assertBadInputOnUpdate(CreateOrUpdateCustomerDto dto, String expectedError) {
-    BadInputException ex = assertThrows(BadInputException.class, () -> service.updateCustomer(UUID.randomUUID(), dto));
+    BadInputException ex = assertThrows(
+        BadInputException.class,
+        () -> service.updateCustomer(UUID.randomUUID(), null, dto)
+    );
     assertEquals(expectedError, ex.getMessage());
   }
+
+  private static CustomerDeleteProperties deleteProperties(boolean soft) {
+    return new CustomerDeleteProperties(soft, false, Duration.ZERO, Duration.ofSeconds(10), 500, Duration.ofMillis(100));
+  }
 }
@@ -0,0 +1,137 @@
+package com.metsmarko.lhvcms.customer;
+
+import com.metsmarko.lhvcms.customer.model.CreateOrUpdateCustomerDto;
+import com.metsmarko.lhvcms.exception.BadInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Compares customer validator with a full validator pass over the constraint annotations.
+ */
+class CustomerValidatorTest {
+
+  private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+  private static final String EMAIL_CHARS = "aZ09.-_+!#$%&'*/=?^`{|}~\"\\@[]:() ,;<>é😀";
+  private static final List<String> EMAILS = List.of(
+      "",
+      "a@b",
+      "first.last@email.com",
+      "FIRST.LAST@EMAIL.COM",
+      "first+tag@sub.email.co.uk",
+      "a.b.c@d-e.f-g-h.ij",
+      "a--b@c--d.e",
+      "!#$%&'*+/=?^_`{|}~-@x_y.z",
+      "@email.com",
+      "first@",
+      "first",
+      "first@@email.com",
+      "first@last@email.com",
+      ".first@email.com",
+      "first.@email.com",
+      "first..last@email.com",
+      "first last@email.com",
+      "first@-email.com",
+      "first@email-.com",
+      "first@email..com",
+      "first@.email.com",
+      "first@email.com.",
+      "first@email.com-",
+      "first@em ail.com",
+      "first@em(ail.com",
+      "\"first last\"@email.com",
+      "\"first\\\"last\"@email.com",
+      "first.\"last\"@email.com",
+      "a\"b@email.com",
+      "jõgi@email.com",
+      "first@jõgi.ee",
+      "first@😀.com",
+      "first@[127.0.0.1]",
+      "first@[IPv6:2001:db8::1]",
+      "first@[300.0.0.1",
+      "a".repeat(64) + "@email.com",
+      "a".repeat(65) + "@email.com",
+      "first@" + "b".repeat(63) + ".com",
+      "first@" + "b".repeat(64) + ".com",
+      "a@" + ("b".repeat(63) + ".").repeat(3) + "b".repeat(61),
+      "a@" + ("b".repeat(63) + ".").repeat(3) + "b".repeat(62)
+  );
+
+  private final Validator jakartaValidator = FACTORY.getValidator();
+  private final CustomerValidator validator = new CustomerValidator(jakartaValidator);
+
+  @AfterAll
+  static void tearDown() {
+    FACTORY.close();
+  }
+
+  @Test
+  void testEmailParity() {
+    EMAILS.forEach(email -> assertParity(new CreateOrUpdateCustomerDto("first", "last", email)));
+  }
+
+  @Test
+  void testRandomEmailParity() {
+    Random random = new Random(42);
+    for (int i = 0; i < 20_000; i++) {
+      StringBuilder email = new StringBuilder();
+      int length = random.nextInt(12);
+      for (int j = 0; j < length; j++) {
+        email.append(EMAIL_CHARS.charAt(random.nextInt(EMAIL_CHARS.length())));
+      }
+      // most random strings are not emails without an @ between local part and domain
+      if (random.nextBoolean()) {
+        email.insert(random.nextInt(email.length() + 1), '@');
+      }
+      assertParity(new CreateOrUpdateCustomerDto("first", "last", email.toString()));
+    }
+  }
+
+  @Test
+  void testNameParity() {
+    List<String> names = new ArrayList<>();
+    names.add(null);
+    names.addAll(List.of("", "a", "a".repeat(255), "a".repeat(256), " "));
+    for (String firstName : names) {
+      for (String lastName : names) {
+        for (String email : new String[] {null, "", "e@mail.com", "invalid", "a".repeat(250) + "@b.com"}) {
+          assertParity(new CreateOrUpdateCustomerDto(firstName, lastName, email));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testEmptyCustomer() {
+    BadInputException e = assertThrows(BadInputException.class, () -> validator.validate(null));
+    assertEquals("Customer must not be empty", e.getMessage());
+  }
+
+  private void assertParity(CreateOrUpdateCustomerDto customer) {
+    Set<String> expectedMessages = jakartaValidator.validate(customer).stream()
+        .map(ConstraintViolation::getMessage)
+        .collect(Collectors.toSet());
+    try {
+      validator.validate(customer);
+      if (!expectedMessages.isEmpty()) {
+        fail("Expected " + expectedMessages + " for " + customer);
+      }
+    } catch (BadInputException e) {
+      assertTrue(expectedMessages.contains(e.getMessage()), () -> "Expected " + expectedMessages + " for " + customer);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.metsmarko.lhvcms.customer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerIdStrategyTest {
+
+  @Test
+  void testRandom() {
+    UUID id = CustomerIdStrategy.RANDOM.nextId();
+
+    assertEquals(4, id.version());
+    assertEquals(2, id.variant());
+  }
+
+  @Test
+  void testTimeOrdered() {
+    long before = System.currentTimeMillis();
+    UUID id = CustomerIdStrategy.TIME_ORDERED.nextId();
+    long after = System.currentTimeMillis();
+
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+    long millis = id.getMostSignificantBits() >>> 16;
+    // ids generated faster than 4096 per millisecond borrow from the next milliseconds
+    assertTrue(millis >= before && millis < after + 1000, "timestamp " + millis);
+  }
+
+  @Test
+  void testTimeOrderedIdsAreUniqueAndMonotonic() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      ids.add(CustomerIdStrategy.TIME_ORDERED.nextId());
+    }
+
+    assertEquals(ids.size(), new HashSet<>(ids).size());
+    for (int i = 1; i < ids.size(); i++) {
+      // most significant bits hold timestamp and counter, positive as the timestamp fits into 47 bits
+      assertTrue(ids.get(i - 1).getMostSignificantBits() < ids.get(i).getMostSignificantBits());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.metsmarko.lhvcms.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+  private static final String LAG_QUERY = "SELECT lag";
+  private static final Duration MAX_LAG = Duration.ofSeconds(1);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replicaDataSource = mock(DataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private final Replica replica = new Replica("replica-0", replicaDataSource);
+  private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(
+      new ReplicaSet(primary, List.of(replica)), meterRegistry
+  );
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+  }
+
+  @Test
+  void testReadOnlyTransactionUsesReplica() throws SQLException {
+    givenLag(10);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertSame(replicaConnection, dataSource.getConnection());
+    assertEquals(1, meterRegistry.counter("datasource.routing.connections", "target", "replica").count());
+  }
+
+  @Test
+  void testWriteTransactionUsesPrimary() throws SQLException {
+    givenLag(10);
+
+    assertSame(primaryConnection, dataSource.getConnection());
+  }
+
+  @Test
+  void testPrimaryRequired() throws SQLException {
+    givenLag(10);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    Connection connection = ReplicaRouting.withPrimary(() -> {
+      try {
+        return dataSource.getConnection();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    assertSame(primaryConnection, connection);
+  }
+
+  @Test
+  void testLaggingReplicaIsNotUsed() throws SQLException {
+    givenLag(MAX_LAG.toMillis() + 1);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertFalse(replica.isAvailable());
+    assertSame(primaryConnection, dataSource.getConnection());
+  }
+
+  @Test
+  void testFailoverToPrimary() throws SQLException {
+    givenLag(10);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaDataSource.getConnection()).thenThrow(new SQLTransientConnectionException("replica is down"));
+
+    assertSame(primaryConnection, dataSource.getConnection());
+    assertFalse(replica.isAvailable());
+    assertEquals(1, meterRegistry.counter("datasource.replica.failovers").count());
+  }
+
+  private void givenLag(long lagMillis) throws SQLException {
+    Statement statement = mock(Statement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    when(replicaConnection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(lagMillis);
+    replica.check(LAG_QUERY, MAX_LAG);
+    assertEquals(lagMillis, replica.lagMillis());
+  }
+}
@@ -1,16 +1,24 @@
 package com.metsmarko.lhvcms.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 class ExceptionControllerAdviceTest {
 
-  private final ExceptionControllerAdvice advice = new ExceptionControllerAdvice();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ExceptionControllerAdvice advice = new ExceptionControllerAdvice(meterRegistry);
 
   @Test
   void handleUnknownError() {
@@ -18,5 +26,47 @@ class ExceptionControllerAdviceTest {
 
     assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, resp.getStatusCode());
     assertNull(resp.getBody().getDetail());
+    assertEquals(1, meterRegistry.counter("customer.exceptions", "exception", "Error", "status", "500").count());
+  }
+
+  @Test
+  void handleServiceUnavailable() {
+    ResponseEntity<ProblemDetail> resp = advice.handleServiceUnavailable(
+        new CannotCreateTransactionException("Connection is not available, request timed out after 5000ms"), null
+    );
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, resp.getStatusCode());
+    assertEquals("Service is busy, try again later", resp.getBody().getDetail());
+  }
+
+  @Test
+  void handleConflict() {
+    ResponseEntity<ProblemDetail> duplicateEmail = advice.handleConflict(new DuplicateKeyException(
+        "insert failed",
+        new SQLException("duplicate key value violates unique constraint \"customer_email_uidx\"", "23505")
+    ), null);
+    ResponseEntity<ProblemDetail> notNull = advice.handleConflict(new DataIntegrityViolationException(
+        "insert failed",
+        new SQLException("NULL not allowed for column \"FIRST_NAME\"", "23502")
+    ), null);
+
+    assertEquals(HttpStatus.CONFLICT, duplicateEmail.getStatusCode());
+    assertEquals("Customer with given email already exists", duplicateEmail.getBody().getDetail());
+    assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, notNull.getStatusCode());
+  }
+
+  @Test
+  void handleNotFoundOfSharedStacklessException() {
+    NotFoundException ex = new NotFoundException("Customer not found");
+
+    ex.addSuppressed(new IllegalStateException("ignored"));
+    ResponseEntity<ProblemDetail> first = advice.handleNotFound(ex, null);
+    ResponseEntity<ProblemDetail> second = advice.handleNotFound(ex, null);
+
+    assertEquals(0, ex.getStackTrace().length);
+    assertEquals(0, ex.getSuppressed().length);
+    assertEquals(HttpStatus.NOT_FOUND, first.getStatusCode());
+    assertEquals("Customer not found", first.getBody().getDetail());
+    assertEquals(first.getBody(), second.getBody());
   }
 }
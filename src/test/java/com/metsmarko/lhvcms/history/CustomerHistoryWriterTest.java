@@ -0,0 +1,71 @@
+package com.metsmarko.lhvcms.history;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomersChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CustomerHistoryWriterTest {
+
+  private final CustomerHistoryRepository repository = mock(CustomerHistoryRepository.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CustomerHistoryWriter writer = new CustomerHistoryWriter(
+      repository,
+      mock(PlatformTransactionManager.class),
+      new CustomerHistoryProperties(2, 10, Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofSeconds(5)),
+      meterRegistry
+  );
+
+  @Test
+  void testChangesAreWrittenOnStop() throws Exception {
+    CustomerChange change1 = CustomerChange.deleted(UUID.randomUUID(), Instant.now());
+    CustomerChange change2 = CustomerChange.deleted(UUID.randomUUID(), Instant.now());
+    writer.onCustomersChanged(new CustomersChangedEvent(List.of(change1, change2)));
+
+    writer.start();
+    writer.stop();
+
+    verify(repository).insertAll(List.of(change1, change2));
+    assertEquals(0, meterRegistry.get("customer.history.queue.size").gauge().value());
+  }
+
+  @Test
+  void testChangesAreDroppedWhenQueueIsFull() throws Exception {
+    writer.onCustomersChanged(new CustomersChangedEvent(List.of(
+        CustomerChange.deleted(UUID.randomUUID(), Instant.now()),
+        CustomerChange.deleted(UUID.randomUUID(), Instant.now()),
+        CustomerChange.deleted(UUID.randomUUID(), Instant.now())
+    )));
+
+    assertEquals(1, meterRegistry.get("customer.history.dropped").counter().count());
+    assertEquals(2, meterRegistry.get("customer.history.queue.size").gauge().value());
+  }
+
+  @Test
+  void testLargeEventWaitsOfferTimeoutOnce() throws Exception {
+    List<CustomerChange> changes = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      changes.add(CustomerChange.deleted(UUID.randomUUID(), Instant.now()));
+    }
+
+    long start = System.nanoTime();
+    writer.onCustomersChanged(new CustomersChangedEvent(changes));
+
+    // waiting 10 ms per dropped change would take about a second
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(500)) < 0);
+    assertEquals(98, meterRegistry.get("customer.history.dropped").counter().count());
+  }
+}
@@ -0,0 +1,56 @@
+package com.metsmarko.lhvcms.outbox;
+
+import com.metsmarko.lhvcms.customer.model.CustomerChange;
+import com.metsmarko.lhvcms.customer.model.CustomerChangeDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerOutboxRelayTest {
+
+  private final CustomerOutboxRepository repository = mock(CustomerOutboxRepository.class);
+  private final CustomerChangeSink sink = mock(CustomerChangeSink.class);
+  private final CustomerOutboxRelay relay = new CustomerOutboxRelay(
+      repository,
+      sink,
+      mock(PlatformTransactionManager.class),
+      new CustomerOutboxProperties(false, Duration.ofSeconds(1), 2, "application-event", "changes.ndjson"),
+      new SimpleMeterRegistry()
+  );
+  private final CustomerChange change = CustomerChange.deleted(UUID.randomUUID(), Instant.now());
+
+  @Test
+  void testRelay() throws Exception {
+    when(repository.findUnpublished(2)).thenReturn(List.of(new UnpublishedChange(7, change)));
+    when(repository.maxPosition()).thenReturn(3L);
+    when(repository.assignPositions(List.of(7L), 4)).thenReturn(true);
+
+    assertEquals(1, relay.relay());
+
+    verify(sink).publish(List.of(CustomerChangeDto.of(4, change)));
+  }
+
+  @Test
+  void testRelay_PublishedByAnotherRelay() throws Exception {
+    when(repository.findUnpublished(2)).thenReturn(List.of(new UnpublishedChange(7, change)));
+    when(repository.maxPosition()).thenReturn(3L);
+    when(repository.assignPositions(List.of(7L), 4)).thenReturn(false);
+
+    assertThrows(IllegalStateException.class, relay::relay);
+
+    verify(sink, never()).publish(any());
+  }
+}